@@ -0,0 +1,93 @@
+package org.monjasa.engine.entities.enemies;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.component.Component;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EnemyPatrolBenchmark {
+
+    private static final double TICK = 1.0 / 60.0;
+
+    @Param({"64", "512", "2048", "8192"})
+    public int enemyCount;
+
+    private EnemyPatrolSystem patrolSystem;
+    private PatrolComponent[] patrolComponents;
+
+    @Setup
+    public void setUp() {
+
+        patrolSystem = EnemyPatrolSystem.getPatrolSystemInstance();
+        patrolSystem.clear();
+        patrolSystem.setParallel(false);
+
+        patrolComponents = new PatrolComponent[enemyCount];
+
+        for (int i = 0; i < enemyCount; i++) {
+
+            double speed = 40 + i % 7 * 10;
+            double duration = 1 + i % 5 * 0.5;
+
+            Entity enemy = new Entity();
+            enemy.setX(i * 45.0);
+            patrolSystem.register(enemy, speed, duration);
+
+            Entity legacyEnemy = new Entity();
+            legacyEnemy.setX(i * 45.0);
+            patrolComponents[i] = new PatrolComponent(legacyEnemy, speed, duration);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        patrolSystem.clear();
+    }
+
+    @Benchmark
+    public void patrolSystem() {
+        patrolSystem.update(TICK);
+    }
+
+    @Benchmark
+    public void perEntityComponents() {
+        for (PatrolComponent patrolComponent : patrolComponents) patrolComponent.onUpdate(TICK);
+    }
+
+    // mirrors the former ForestEnemyComponent.onUpdate: own timer, translateX and setScaleX on every tick
+    private static class PatrolComponent extends Component {
+
+        private final Entity enemy;
+        private final double speed;
+        private final double duration;
+
+        private double elapsedTime;
+        private boolean movingRight;
+
+        private PatrolComponent(Entity enemy, double speed, double duration) {
+            this.enemy = enemy;
+            this.speed = speed;
+            this.duration = duration;
+        }
+
+        @Override
+        public void onUpdate(double tpf) {
+
+            elapsedTime += tpf;
+
+            if (elapsedTime >= duration) {
+                movingRight = !movingRight;
+                elapsedTime = 0;
+            }
+
+            enemy.translateX(movingRight ? -speed * tpf : speed * tpf);
+            enemy.setScaleX(movingRight ? -1 : 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.monjasa.engine.entities.players;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import com.almasb.fxgl.physics.PhysicsComponent;
+import com.almasb.fxgl.physics.PhysicsWorld;
+import com.almasb.fxgl.physics.box2d.dynamics.BodyType;
+import org.monjasa.engine.entities.PlatformerEntityType;
+import org.monjasa.engine.entities.components.DynamicComponent;
+import org.monjasa.engine.entities.players.components.ForestPlayerControlComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlayerInputDispatchBenchmark {
+
+    @Param({"16", "1024"})
+    public int worldEntityCount;
+
+    private GameWorld gameWorld;
+    private ForestPlayer player;
+
+    @Setup
+    public void setUp() {
+
+        gameWorld = new GameWorld();
+        PhysicsWorld physicsWorld = new PhysicsWorld(2000, 50.0);
+        gameWorld.addWorldListener(physicsWorld);
+
+        for (int i = 0; i < worldEntityCount; i++) {
+            Entity platform = new Entity();
+            platform.setType(PlatformerEntityType.PLATFORM);
+            platform.setPosition(i * 45.0, 1000);
+            gameWorld.addEntity(platform);
+        }
+
+        PhysicsComponent physicsComponent = new PhysicsComponent();
+        physicsComponent.setBodyType(BodyType.DYNAMIC);
+
+        // built like ForestLevelFactory builds the player, minus the animated view component
+        player = new ForestPlayer();
+        player.setType(PlatformerEntityType.PLAYER);
+        player.getBoundingBoxComponent().addHitBox(new HitBox(BoundingShape.box(40, 80)));
+        player.addComponent(physicsComponent);
+        player.addComponent(new DynamicComponent(200, 600));
+        player.addComponent(new ForestPlayerControlComponent());
+        player.playerControlComponent = player.getComponent(ForestPlayerControlComponent.class);
+        gameWorld.addEntity(player);
+    }
+
+    @TearDown
+    public void tearDown() {
+        gameWorld.clear();
+    }
+
+    // the per-callback path before the player handle: a singleton lookup, then moveRight as it used to be,
+    // looking the dynamic component up on every move (that version of moveRight no longer exists to call)
+    @Benchmark
+    public void worldLookup() {
+        Entity worldPlayer = gameWorld.getSingleton(PlatformerEntityType.PLAYER);
+        worldPlayer.getComponent(PhysicsComponent.class)
+                .setVelocityX(worldPlayer.getComponent(DynamicComponent.class).getHorizontalVelocity());
+    }
+
+    // the current path: the application's player handle into ForestPlayerControlComponent.moveRight
+    @Benchmark
+    public void cachedHandle() {
+        player.getPlayerControlComponent().moveRight();
+    }
+}
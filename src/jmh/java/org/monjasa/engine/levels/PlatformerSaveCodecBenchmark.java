@@ -0,0 +1,55 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.profile.DataFile;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlatformerSaveCodecBenchmark {
+
+    private PlatformerSaveCodec saveCodec;
+
+    private DataFile saveData;
+    private byte[] encodedData;
+    private byte[] serializedData;
+
+    @Setup
+    public void setUp() throws IOException {
+
+        saveCodec = new PlatformerSaveCodec();
+        saveData = PlatformerSaveFixture.createSave(4, 130, 45, 3, 2);
+
+        encodedData = saveCodec.encode(saveData);
+        serializedData = PlatformerSaveFixture.serialize(saveData);
+    }
+
+    @Benchmark
+    public byte[] codecSave() throws IOException {
+        return saveCodec.encode(saveData);
+    }
+
+    @Benchmark
+    public DataFile codecLoad() throws IOException {
+        return saveCodec.decode(encodedData);
+    }
+
+    @Benchmark
+    public byte[] javaSerializationSave() {
+        return PlatformerSaveFixture.serialize(saveData);
+    }
+
+    @Benchmark
+    public DataFile javaSerializationLoad() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream inputStream = new ObjectInputStream(new ByteArrayInputStream(serializedData))) {
+            return (DataFile) inputStream.readObject();
+        }
+    }
+}
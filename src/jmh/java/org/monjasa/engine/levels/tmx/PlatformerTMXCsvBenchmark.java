@@ -0,0 +1,46 @@
+package org.monjasa.engine.levels.tmx;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlatformerTMXCsvBenchmark {
+
+    @Param({"50x16", "2000x200"})
+    public String mapSize;
+
+    private String layerData;
+    private int tileCount;
+
+    @Setup
+    public void setUp() {
+
+        String[] dimensions = mapSize.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+
+        layerData = PlatformerTMXCorpus.encodeCsv(PlatformerTMXCorpus.generateTiles(width, height, 2), width);
+        tileCount = width * height;
+    }
+
+    @Benchmark
+    public int[] charScanner() throws IOException {
+        return PlatformerTMXDataDecoder.decodeCsv(layerData, tileCount);
+    }
+
+    @Benchmark
+    public List<Integer> splitAndBox() {
+        return Arrays.stream(layerData.replace("\n", "").split(","))
+                .map(Integer::parseUnsignedInt)
+                .collect(Collectors.toList());
+    }
+}
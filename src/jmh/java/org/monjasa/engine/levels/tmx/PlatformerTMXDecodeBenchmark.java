@@ -0,0 +1,54 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlatformerTMXDecodeBenchmark {
+
+    private static final int MAP_SIZE = 1000;
+
+    @Param({"csv", "base64", "base64+zlib", "base64+gzip"})
+    public String format;
+
+    private String layerData;
+    private String encoding;
+    private String compression;
+    private byte[] mapDocument;
+
+    @Setup
+    public void setUp() {
+
+        int[] tiles = PlatformerTMXCorpus.generateTiles(MAP_SIZE, MAP_SIZE, 1);
+
+        String[] formatParts = format.split("\\+");
+        encoding = formatParts[0];
+        compression = formatParts.length > 1 ? formatParts[1] : "";
+
+        layerData = encoding.equals("csv")
+                ? PlatformerTMXCorpus.encodeCsv(tiles, MAP_SIZE)
+                : PlatformerTMXCorpus.encodeBase64(tiles, compression);
+
+        mapDocument = PlatformerTMXCorpus.generateMap(MAP_SIZE, MAP_SIZE, encoding, compression, 64);
+    }
+
+    @Benchmark
+    public int[] decodeLayer() throws IOException {
+        return encoding.equals("csv")
+                ? PlatformerTMXDataDecoder.decodeCsv(layerData, MAP_SIZE * MAP_SIZE)
+                : PlatformerTMXDataDecoder.decodeBase64(layerData, compression, MAP_SIZE * MAP_SIZE);
+    }
+
+    @Benchmark
+    public TiledMap parseMap() throws Exception {
+        return new PlatformerTMXLevelParser().parse(new ByteArrayInputStream(mapDocument));
+    }
+}
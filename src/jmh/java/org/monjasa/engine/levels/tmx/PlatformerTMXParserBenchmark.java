@@ -0,0 +1,40 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PlatformerTMXParserBenchmark {
+
+    @Param({"100", "5000", "20000"})
+    public int objectCount;
+
+    private byte[] mapDocument;
+
+    private PlatformerTMXLevelParser eventParser;
+    private PlatformerTMXLevelParser streamParser;
+
+    @Setup
+    public void setUp() {
+        mapDocument = PlatformerTMXCorpus.generateMap(200, 40, "csv", "", objectCount);
+        eventParser = new PlatformerTMXLevelParser();
+        streamParser = new PlatformerTMXStreamLevelParser();
+    }
+
+    @Benchmark
+    public TiledMap eventReader() throws Exception {
+        return eventParser.parse(new ByteArrayInputStream(mapDocument));
+    }
+
+    @Benchmark
+    public TiledMap streamReader() throws Exception {
+        return streamParser.parse(new ByteArrayInputStream(mapDocument));
+    }
+}
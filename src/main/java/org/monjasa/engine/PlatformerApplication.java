@@ -12,7 +12,9 @@ import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.components.CollidableComponent;
 import com.almasb.fxgl.input.UserAction;
+import com.almasb.fxgl.logging.Logger;
 import com.almasb.fxgl.physics.CollisionHandler;
+import com.almasb.fxgl.profile.DataFile;
 import javafx.beans.binding.Bindings;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -28,11 +30,21 @@ import org.monjasa.engine.entities.PlatformerEntityFactory;
 import org.monjasa.engine.entities.PlatformerEntityType;
 import org.monjasa.engine.entities.components.EntityHPComponent;
 import org.monjasa.engine.entities.enemies.Enemy;
+import org.monjasa.engine.entities.enemies.EnemyPatrolSystem;
 import org.monjasa.engine.entities.players.Player;
+import org.monjasa.engine.entities.players.weapons.ArrowPool;
+import org.monjasa.engine.input.InputRecorder;
+import org.monjasa.engine.input.InputReplayDriver;
+import org.monjasa.engine.input.PlatformerInputAction;
+import org.monjasa.engine.input.PlatformerInputPhase;
+import org.monjasa.engine.levels.AsyncSaveWriter;
 import org.monjasa.engine.levels.LevelSaveLoadHandler;
 import org.monjasa.engine.levels.PlatformerLevel;
+import org.monjasa.engine.levels.PlatformerRewindBuffer;
+import org.monjasa.engine.levels.PlatformerViewportCuller;
 import org.monjasa.engine.levels.iterator.Collection;
 import org.monjasa.engine.levels.iterator.LevelCollection;
+import org.monjasa.engine.levels.iterator.LevelDataCache;
 import org.monjasa.engine.levels.iterator.LevelIterator;
 import org.monjasa.engine.observer.Observer;
 import org.monjasa.engine.observer.Publisher;
@@ -45,9 +57,16 @@ import org.monjasa.engine.ui.CoinsUIElement;
 import org.monjasa.engine.ui.HealthBarUIElement;
 import org.monjasa.engine.ui.UpdatableUIElement;
 import org.monjasa.engine.ui.WeaponUIElement;
+import org.monjasa.engine.util.FixedTimestepScheduler;
 
+import java.io.IOException;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.DoubleConsumer;
 
 import static com.almasb.fxgl.dsl.FXGL.*;
 import static org.monjasa.engine.entities.PlatformerEntityType.*;
@@ -55,11 +74,25 @@ import static org.monjasa.engine.levels.PlatformerLevel.LevelMemento;
 
 public class PlatformerApplication extends GameApplication implements Publisher {
 
+    private static final Logger log = Logger.get(PlatformerApplication.class);
+
     private static final boolean DEVELOPING_NEW_LEVEL = false;
+    private static final int LEVEL_PREFETCH_LOOKAHEAD = 1;
+    private static final long LEVEL_CACHE_BUDGET = 64L * 1024 * 1024;
+    private static final double VIEWPORT_CULLING_MARGIN = 256;
+    private static final int SIMULATION_STEPS_PER_SECOND = 60;
+    private static final int REWIND_SECONDS = 5;
+    private static final int REWIND_MAX_ENTITIES = 1024;
+
+    private static final String SAVE_FILE_NAME = "progress.sav";
+
+    private static final String INPUT_RECORD_PROPERTY = "platformer.input.record";
+    private static final String INPUT_REPLAY_PROPERTY = "platformer.input.replay";
 
     private boolean loadingFromSave = false;
 
     private PlatformerLevel currentLevel;
+    private Player player;
     private LevelMemento levelSnapshot;
 
     private PlatformerEntityFactory entityFactories;
@@ -72,6 +105,18 @@ public class PlatformerApplication extends GameApplication implements Publisher
     private ImageCursor imageCursor;
 
     private LevelIterator levelIterator;
+    private LevelDataCache levelDataCache = new LevelDataCache(LEVEL_CACHE_BUDGET);
+    private PlatformerViewportCuller viewportCuller;
+    private AsyncSaveWriter saveWriter = new AsyncSaveWriter();
+    private FixedTimestepScheduler simulationScheduler = new FixedTimestepScheduler(SIMULATION_STEPS_PER_SECOND);
+    private PlatformerRewindBuffer rewindBuffer =
+            new PlatformerRewindBuffer(REWIND_SECONDS * SIMULATION_STEPS_PER_SECOND, REWIND_MAX_ENTITIES);
+    private boolean rewinding;
+
+    private InputRecorder inputRecorder;
+    private InputReplayDriver inputReplayDriver;
+    private BiConsumer<PlatformerInputAction, PlatformerInputPhase> inputDispatcher = this::dispatchInput;
+    private DoubleConsumer simulationStep = this::simulate;
 
     @Override
     protected void initSettings(GameSettings settings) {
@@ -96,6 +141,10 @@ public class PlatformerApplication extends GameApplication implements Publisher
 
         settings.setEnabledMenuItems(EnumSet.allOf(MenuItem.class));
 
+        // physics and the player controls advance with the engine tick, so it is pinned to the scheduler rate:
+        // every frame then runs exactly one simulation step and the patrol interpolation alpha stays at zero
+        settings.setTicksPerSecond(SIMULATION_STEPS_PER_SECOND);
+
         settings.setMainMenuEnabled(true);
         settings.setGameMenuEnabled(true);
 
@@ -133,12 +182,18 @@ public class PlatformerApplication extends GameApplication implements Publisher
 
         getGameWorld().addEntityFactory(this.entityFactories);
 
-        Collection levelURLs = new LevelCollection(loadLevelURLs(), entityFactories, DEVELOPING_NEW_LEVEL);
-        levelIterator = levelURLs.createConsistentLevelIterator();
+        cancelLevelPrefetch();
+        ArrowPool.getArrowPoolInstance().clear();
+
+        Collection levelURLs = new LevelCollection(loadLevelURLs(), entityFactories, DEVELOPING_NEW_LEVEL, levelDataCache);
+        levelIterator = levelURLs.createPrefetchingLevelIterator(LEVEL_PREFETCH_LOOKAHEAD);
 
         observers = new ArrayList<>();
         updatableUIElements = new ArrayList<>();
 
+        viewportCuller = new PlatformerViewportCuller(VIEWPORT_CULLING_MARGIN);
+        simulationScheduler.reset();
+
         getPhysicsWorld().setGravity(0, 1000);
 
         getGameScene().setCursor(imageCursor.getImage(), new Point2D(0, 0));
@@ -147,20 +202,25 @@ public class PlatformerApplication extends GameApplication implements Publisher
         getAudioPlayer().stopMusic(mainMenuMusic);
         getAudioPlayer().loopMusic(gameMusic);
 
-        prepareNextLevel();
+        if (loadingFromSave) prepareSavedLevel();
+        else prepareNextLevel();
     }
 
-    public void startGame() {
+    private void prepareSavedLevel() {
 
-        if (loadingFromSave) {
+        DataFile saveData = saveWriter.read(SAVE_FILE_NAME);
 
-            getSaveLoadService().readAndLoadTask("progress.sav").run();
-            notifyObservers();
+        levelIterator.seek(saveData.getBundle("Level").<Integer>get("level"));
+        prepareLevel();
 
-            for (int i = 1; i < geti("level"); i++) prepareLevel();
+        getSaveLoadService().load(saveData);
+        levelSnapshot = currentLevel.makeSnapshot();
+    }
 
-            prepareLevel();
+    public void startGame() {
 
+        if (loadingFromSave) {
+            notifyObservers();
             loadingFromSave = false;
         }
 
@@ -182,66 +242,127 @@ public class PlatformerApplication extends GameApplication implements Publisher
     @Override
     protected void initInput() {
 
-        getInput().addAction(new UserAction("Move Left") {
-            @Override
-            protected void onAction() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).goLeft();
-            }
+        addInputAction(PlatformerInputAction.MOVE_LEFT, KeyCode.LEFT);
+        addInputAction(PlatformerInputAction.MOVE_RIGHT, KeyCode.RIGHT);
+        addInputAction(PlatformerInputAction.JUMP, KeyCode.UP);
+        addInputAction(PlatformerInputAction.ATTACK, MouseButton.PRIMARY);
+        addInputAction(PlatformerInputAction.SWITCH_WEAPON, MouseButton.SECONDARY);
+        addInputAction(PlatformerInputAction.OPEN_PERK_TREE, KeyCode.E);
+        addInputAction(PlatformerInputAction.REWIND, KeyCode.R);
+
+        initInputTrace();
+    }
+
+    private void addInputAction(PlatformerInputAction action, KeyCode keyCode) {
+        getInput().addAction(createUserAction(action), keyCode);
+    }
+
+    private void addInputAction(PlatformerInputAction action, MouseButton mouseButton) {
+        getInput().addAction(createUserAction(action), mouseButton);
+    }
 
+    private UserAction createUserAction(PlatformerInputAction action) {
+        return new UserAction(action.getName()) {
             @Override
-            protected void onActionEnd() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).horizontalStop();
+            protected void onActionBegin() {
+                onUserInput(action, PlatformerInputPhase.BEGIN);
             }
-        }, KeyCode.LEFT);
 
-        getInput().addAction(new UserAction("Move Right") {
             @Override
             protected void onAction() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).goRight();
+                onUserInput(action, PlatformerInputPhase.ACTION);
             }
 
             @Override
             protected void onActionEnd() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).horizontalStop();
+                onUserInput(action, PlatformerInputPhase.END);
             }
-        }, KeyCode.RIGHT);
+        };
+    }
 
-        getInput().addAction(new UserAction("Jump") {
-            @Override
-            protected void onAction() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).goUp();
-            }
-        }, KeyCode.UP);
+    private void initInputTrace() {
 
-        getInput().addAction(new UserAction("Attack") {
-            @Override
-            protected void onActionBegin() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).attack();
+        try {
+            String recordPath = System.getProperty(INPUT_RECORD_PROPERTY);
+            if (recordPath != null) {
+                inputRecorder = new InputRecorder(Paths.get(recordPath), SIMULATION_STEPS_PER_SECOND);
+                Runtime.getRuntime().addShutdownHook(new Thread(this::closeInputRecorder));
             }
-        }, MouseButton.PRIMARY);
 
-        getInput().addAction(new UserAction("Switch Weapon") {
-            @Override
-            protected void onActionBegin() {
-                FXGL.<PlatformerApplication>getAppCast().<Player>getSingletonCast(PLAYER).switchWeapon();
-            }
-        }, MouseButton.SECONDARY);
+            String replayPath = System.getProperty(INPUT_REPLAY_PROPERTY);
+            if (replayPath != null)
+                inputReplayDriver = new InputReplayDriver(Paths.get(replayPath), SIMULATION_STEPS_PER_SECOND);
 
-        getInput().addAction(new UserAction("Open Perk Tree") {
-            @Override
-            protected void onAction() {
-                getSceneService().pushSubScene(new PerkTreeScene());
-            }
-        }, KeyCode.E);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void closeInputRecorder() {
+        try {
+            inputRecorder.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void flushInputRecorder() {
+        try {
+            if (inputRecorder != null) inputRecorder.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void onUserInput(PlatformerInputAction action, PlatformerInputPhase phase) {
+
+        if (inputReplayDriver != null) return;
+
+        if (inputRecorder != null) {
+            inputRecorder.record(action, phase);
+            return;
+        }
+
+        dispatchInput(action, phase);
+    }
+
+    private void dispatchInput(PlatformerInputAction action, PlatformerInputPhase phase) {
+
+        switch (action) {
+            case MOVE_LEFT:
+                if (phase == PlatformerInputPhase.ACTION) player.goLeft();
+                else if (phase == PlatformerInputPhase.END) player.horizontalStop();
+                break;
+            case MOVE_RIGHT:
+                if (phase == PlatformerInputPhase.ACTION) player.goRight();
+                else if (phase == PlatformerInputPhase.END) player.horizontalStop();
+                break;
+            case JUMP:
+                if (phase == PlatformerInputPhase.ACTION) player.goUp();
+                break;
+            case ATTACK:
+                if (phase == PlatformerInputPhase.BEGIN) player.attack();
+                break;
+            case SWITCH_WEAPON:
+                if (phase == PlatformerInputPhase.BEGIN) player.switchWeapon();
+                break;
+            case OPEN_PERK_TREE:
+                if (phase == PlatformerInputPhase.ACTION) getSceneService().pushSubScene(new PerkTreeScene());
+                break;
+            case REWIND:
+                if (phase == PlatformerInputPhase.BEGIN) rewinding = true;
+                else if (phase == PlatformerInputPhase.END) rewinding = false;
+                break;
+        }
     }
 
     @Override
     protected void initUI() {
 
-        WeaponUIElement weaponElement = new WeaponUIElement(FXGL.<PlatformerApplication>getAppCast().getSingletonCast(PLAYER));
+        WeaponUIElement weaponElement = new WeaponUIElement(player);
 
         HealthBarUIElement healthBarElement = new HealthBarUIElement(
-                getGameWorld().getSingleton(PLAYER).getComponent(EntityHPComponent.class)
+                player.getComponent(EntityHPComponent.class)
         );
 
         CoinsUIElement coinsElement = new CoinsUIElement();
@@ -274,10 +395,7 @@ public class PlatformerApplication extends GameApplication implements Publisher
 
                 entityFactories.getCurrentFactory().getCoinInstance().onCollected();
 
-                currentLevel.addCoinToRestore(coin);
-
-                coin.setVisible(false);
-                coin.removeComponent(CollidableComponent.class);
+                currentLevel.collectCoin(coin);
             }
         });
 
@@ -313,18 +431,46 @@ public class PlatformerApplication extends GameApplication implements Publisher
         getPhysicsWorld().addCollisionHandler(new CollisionHandler(ENEMY, PROJECTILE) {
             @Override
             protected void onCollisionBegin(Entity enemy, Entity arrow) {
-                enemy.removeFromWorld();
-                arrow.removeFromWorld();
+                currentLevel.killEnemy(enemy);
+                ArrowPool.getArrowPoolInstance().release(arrow);
             }
         });
     }
 
+    @Override
+    protected void onUpdate(double tpf) {
+        if (currentLevel == null) return;
+
+        simulationScheduler.advance(tpf, simulationStep);
+        EnemyPatrolSystem.getPatrolSystemInstance().apply(simulationScheduler.getInterpolationAlpha());
+
+        currentLevel.updateSpatialGrid();
+        viewportCuller.cull(currentLevel.getSpatialGrid(), getGameScene().getViewport());
+    }
+
+    private void simulate(double stepDuration) {
+
+        if (inputReplayDriver != null)
+            inputReplayDriver.replay(simulationScheduler.getStepCount(), inputDispatcher);
+        else if (inputRecorder != null)
+            inputRecorder.dispatch(simulationScheduler.getStepCount(), inputDispatcher);
+
+        if (rewinding) {
+            rewindBuffer.rewind();
+            return;
+        }
+
+        EnemyPatrolSystem.getPatrolSystemInstance().step(stepDuration);
+        rewindBuffer.capture();
+    }
+
     public void onPlayerDied() {
         getDialogService().showMessageBox("You died", this::restartFromSnapshot);
     }
 
     private void restartFromSnapshot() {
         currentLevel.restoreLevel(levelSnapshot);
+        rewindBuffer.resetFrames();
     }
 
     private List<URL> loadLevelURLs() {
@@ -343,12 +489,20 @@ public class PlatformerApplication extends GameApplication implements Publisher
 
     private PlatformerLevel prepareLevel() {
 
+        viewportCuller.reset();
+        flushInputRecorder();
+
         currentLevel = new PlatformerLevel(levelIterator.getNext());
         levelSnapshot = currentLevel.makeSnapshot();
 
         getGameWorld().setLevel(currentLevel.getLevel());
+        ArrowPool.getArrowPoolInstance().prewarm();
+
+        player = getSingletonCast(PLAYER);
 
-        Player player = getSingletonCast(PLAYER);
+        rewindBuffer.clear();
+        rewindBuffer.setPlayer(player);
+        currentLevel.getSpatialGrid().getEntities(ENEMY).forEach(rewindBuffer::track);
 
         getGameScene().getViewport().setLazy(true);
         getGameScene().getViewport().bindToEntity(player, getAppWidth() / 2.0, getAppHeight() / 2.0);
@@ -362,33 +516,25 @@ public class PlatformerApplication extends GameApplication implements Publisher
             FXGL.getExecutor().startAsyncFX(() -> {
 
                 String savingGameMessage = "Saving game";
-                Text savingGameTitle = new Text();
-                savingGameTitle.fontProperty().setValue(FXGL.getAssetLoader().loadFont("gnomoria.ttf").newFont(42));
-                savingGameTitle.fillProperty().setValue(Color.WHITE);
-                savingGameTitle.setTranslateX(10);
-                savingGameTitle.setTranslateY(getAppHeight() - 10);
+                Text savingGameTitle = createSaveStatusTitle("");
 
                 StringProperty savingGameProcessMessage = new SimpleStringProperty("");
                 run(() -> savingGameProcessMessage.setValue(savingGameProcessMessage.concat(".").getValue()), Duration.millis(500), 3);
                 savingGameTitle.textProperty().bind(Bindings.concat(savingGameMessage, savingGameProcessMessage));
 
-                Text gameSavedTitle = new Text("Game saved!");
-                gameSavedTitle.fontProperty().setValue(FXGL.getAssetLoader().loadFont("gnomoria.ttf").newFont(42));
-                gameSavedTitle.fillProperty().setValue(Color.WHITE);
-                gameSavedTitle.setTranslateX(10);
-                gameSavedTitle.setTranslateY(getAppHeight() - 10);
-
                 addUINode(savingGameTitle);
-                saveGame();
 
-                runOnce(() -> {
+                saveGame().whenComplete((saveFile, error) -> FXGL.getExecutor().startAsyncFX(() -> {
+
+                    Text saveResultTitle = createSaveStatusTitle(error == null ? "Game saved!" : "Could not save the game");
+
                     removeUINode(savingGameTitle);
-                    addUINode(gameSavedTitle);
+                    addUINode(saveResultTitle);
 
                     runOnce(() -> {
-                        removeUINode(gameSavedTitle);
+                        removeUINode(saveResultTitle);
                     }, Duration.millis(2000));
-                }, Duration.millis(2000));
+                }));
             });
         }
 
@@ -416,11 +562,32 @@ public class PlatformerApplication extends GameApplication implements Publisher
         getGameScene().getViewport().fade(this::prepareNextLevel);
     }
 
-    private void saveGame() {
+    private Text createSaveStatusTitle(String message) {
+
+        Text saveStatusTitle = new Text(message);
+        saveStatusTitle.fontProperty().setValue(FXGL.getAssetLoader().loadFont("gnomoria.ttf").newFont(42));
+        saveStatusTitle.fillProperty().setValue(Color.WHITE);
+        saveStatusTitle.setTranslateX(10);
+        saveStatusTitle.setTranslateY(getAppHeight() - 10);
+
+        return saveStatusTitle;
+    }
+
+    private CompletableFuture<Path> saveGame() {
 
         getWorldProperties().<PerkTree>getObject("perkTree").savePerkTree();
 
-        getSaveLoadService().saveAndWriteTask("progress.sav").run();
+        return saveWriter.save(getSaveLoadService(), SAVE_FILE_NAME).whenComplete((saveFile, error) -> {
+
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+
+            log.info(String.format("Saved %s: %d bytes, snapshot %.2f ms on the game thread, write %.2f ms",
+                    saveFile, saveWriter.getLastSaveSize(),
+                    saveWriter.getLastSnapshotNanos() / 1e6, saveWriter.getLastWriteNanos() / 1e6));
+        });
     }
 
     public void changeCoinsAvailableValue(int difference) {
@@ -447,6 +614,10 @@ public class PlatformerApplication extends GameApplication implements Publisher
         }
     }
 
+    public void cancelLevelPrefetch() {
+        if (levelIterator != null) levelIterator.close();
+    }
+
     public void setLoadingFromSaveState() {
         loadingFromSave = true;
     }
@@ -460,6 +631,14 @@ public class PlatformerApplication extends GameApplication implements Publisher
         launch(args);
     }
 
+    public Player getPlayer() {
+        return player;
+    }
+
+    public PlatformerLevel getCurrentLevel() {
+        return currentLevel;
+    }
+
     public LevelMemento getLevelSnapshot() {
         return levelSnapshot;
     }
@@ -475,4 +654,16 @@ public class PlatformerApplication extends GameApplication implements Publisher
     public ImageCursor getImageCursor() {
         return imageCursor;
     }
+
+    public PlatformerRewindBuffer getRewindBuffer() {
+        return rewindBuffer;
+    }
+
+    public AsyncSaveWriter getSaveWriter() {
+        return saveWriter;
+    }
+
+    public PlatformerViewportCuller getViewportCuller() {
+        return viewportCuller;
+    }
 }
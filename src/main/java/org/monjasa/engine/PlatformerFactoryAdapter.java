@@ -12,6 +12,7 @@ import org.monjasa.engine.entities.factories.ForestLevelFactory;
 import org.monjasa.engine.entities.factories.PlatformerLevelFactory;
 import org.monjasa.engine.entities.platforms.Platform;
 import org.monjasa.engine.entities.players.Player;
+import org.monjasa.engine.levels.tmx.PlatformerTMXLevelData;
 
 import java.io.File;
 import java.net.URL;
@@ -75,16 +76,39 @@ public class PlatformerFactoryAdapter implements PlatformerEntityFactory {
     @Override
     public Level createLevel(URL levelURL, boolean isDevelopingNewLevel) {
 
+        currentFactory = findLevelFactory(levelURL);
+
+        assert currentFactory != null;
+        return currentFactory.createLevel(levelURL, isDevelopingNewLevel);
+    }
+
+    @Override
+    public Level createLevel(URL levelURL, PlatformerTMXLevelData levelData) {
+
+        currentFactory = findLevelFactory(levelURL);
+
+        assert currentFactory != null;
+        return currentFactory.createLevel(levelData);
+    }
+
+    @Override
+    public PlatformerTMXLevelData loadLevelData(URL levelURL, boolean isDevelopingNewLevel) {
+
+        PlatformerLevelFactory levelFactory = findLevelFactory(levelURL);
+
+        assert levelFactory != null;
+        return levelFactory.loadLevelData(levelURL, isDevelopingNewLevel);
+    }
+
+    private PlatformerLevelFactory findLevelFactory(URL levelURL) {
+
         String levelName = new File(levelURL.getPath()).getName();
         Pattern pattern = Pattern.compile("([^_]+)");
         Matcher matcher = pattern.matcher(levelName);
 
         if (!matcher.find()) throw new RuntimeException();
 
-        currentFactory = factories.get(levelName.substring(matcher.start(), matcher.end()));
-
-        assert currentFactory != null;
-        return currentFactory.createLevel(levelURL, isDevelopingNewLevel);
+        return factories.get(levelName.substring(matcher.start(), matcher.end()));
     }
 
     public PlatformerLevelFactory getCurrentFactory() {
@@ -11,6 +11,7 @@ import org.monjasa.engine.entities.exits.Exit;
 import org.monjasa.engine.entities.factories.PlatformerLevelFactory;
 import org.monjasa.engine.entities.platforms.Platform;
 import org.monjasa.engine.entities.players.Player;
+import org.monjasa.engine.levels.tmx.PlatformerTMXLevelData;
 
 import java.net.URL;
 import java.util.Deque;
@@ -38,6 +39,10 @@ public interface PlatformerEntityFactory extends EntityFactory {
 
     Level createLevel(URL levelURL, boolean isDevelopingNewLevel);
 
+    Level createLevel(URL levelURL, PlatformerTMXLevelData levelData);
+
+    PlatformerTMXLevelData loadLevelData(URL levelURL, boolean isDevelopingNewLevel);
+
     PlatformerLevelFactory getCurrentFactory();
 
     List<PlatformerLevelFactory> getLevelFactories();
@@ -0,0 +1,19 @@
+package org.monjasa.engine.entities.enemies;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.texture.AnimationChannel;
+import javafx.util.Duration;
+
+public class EnemyFlyweight {
+
+    private AnimationChannel walkChannel;
+
+    EnemyFlyweight(String spriteSheet) {
+        this.walkChannel = new AnimationChannel(FXGL.image(spriteSheet),
+                4, 135, 135, Duration.millis(1000), 0, 5);
+    }
+
+    AnimationChannel getWalkChannel() {
+        return walkChannel;
+    }
+}
@@ -0,0 +1,35 @@
+package org.monjasa.engine.entities.enemies;
+
+import org.monjasa.engine.entities.factories.PlatformerLevelFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class EnemyFlyweightFactory {
+
+    private static volatile EnemyFlyweightFactory instance;
+
+    public static EnemyFlyweightFactory getEnemyFactoryInstance() {
+
+        if (instance == null)
+            synchronized (EnemyFlyweightFactory.class) {
+                if (instance == null)
+                    instance = new EnemyFlyweightFactory();
+            }
+
+        return instance;
+    }
+
+    private Map<PlatformerLevelFactory, EnemyFlyweight> enemyFlyweights;
+
+    private EnemyFlyweightFactory() {
+        enemyFlyweights = new HashMap<>();
+    }
+
+    public EnemyFlyweight getEnemyFlyweight(PlatformerLevelFactory factory) {
+        return enemyFlyweights.computeIfAbsent(
+                factory,
+                key -> new EnemyFlyweight(key.getEnemySpritesheetName())
+        );
+    }
+}
@@ -0,0 +1,284 @@
+package org.monjasa.engine.entities.enemies;
+
+import com.almasb.fxgl.entity.Entity;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class EnemyPatrolSystem {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int PARALLEL_THRESHOLD = 512;
+    private static final int BATCH_SIZE = 128;
+
+    static final String SINGLE_THREADED_PROPERTY = "platformer.ai.singleThreaded";
+
+    private static volatile EnemyPatrolSystem instance;
+
+    public static EnemyPatrolSystem getPatrolSystemInstance() {
+
+        if (instance == null)
+            synchronized (EnemyPatrolSystem.class) {
+                if (instance == null)
+                    instance = new EnemyPatrolSystem();
+            }
+
+        return instance;
+    }
+
+    private Entity[] entities;
+    private double[] positionsX;
+    private double[] previousPositionsX;
+    private double[] speeds;
+    private double[] durations;
+    private double[] elapsedTimes;
+    private boolean[] movingRight;
+    private boolean[] directionChanged;
+
+    private Map<Entity, Integer> indices;
+    private int size;
+
+    private boolean parallel = true;
+    private ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+    private long lastUpdateNanos;
+
+    private EnemyPatrolSystem() {
+        entities = new Entity[INITIAL_CAPACITY];
+        positionsX = new double[INITIAL_CAPACITY];
+        previousPositionsX = new double[INITIAL_CAPACITY];
+        speeds = new double[INITIAL_CAPACITY];
+        durations = new double[INITIAL_CAPACITY];
+        elapsedTimes = new double[INITIAL_CAPACITY];
+        movingRight = new boolean[INITIAL_CAPACITY];
+        directionChanged = new boolean[INITIAL_CAPACITY];
+        indices = new IdentityHashMap<>();
+    }
+
+    public void register(Entity entity, double speed, double duration) {
+
+        if (indices.containsKey(entity)) return;
+
+        if (size == entities.length) grow();
+
+        entities[size] = entity;
+        positionsX[size] = entity.getX();
+        previousPositionsX[size] = entity.getX();
+        speeds[size] = speed;
+        durations[size] = duration;
+        elapsedTimes[size] = 0;
+        movingRight[size] = false;
+        directionChanged[size] = true;
+
+        indices.put(entity, size++);
+    }
+
+    public void unregister(Entity entity) {
+
+        Integer index = indices.remove(entity);
+        if (index == null) return;
+
+        int last = --size;
+
+        if (index != last) {
+            entities[index] = entities[last];
+            positionsX[index] = positionsX[last];
+            previousPositionsX[index] = previousPositionsX[last];
+            speeds[index] = speeds[last];
+            durations[index] = durations[last];
+            elapsedTimes[index] = elapsedTimes[last];
+            movingRight[index] = movingRight[last];
+            directionChanged[index] = directionChanged[last];
+            indices.put(entities[index], index);
+        }
+
+        entities[last] = null;
+    }
+
+    public PatrolState suspend(Entity entity) {
+
+        Integer index = indices.get(entity);
+        if (index == null) return null;
+
+        PatrolState patrolState = new PatrolState(positionsX[index], speeds[index], durations[index],
+                elapsedTimes[index], movingRight[index]);
+
+        unregister(entity);
+
+        return patrolState;
+    }
+
+    public void resume(Entity entity, PatrolState patrolState) {
+
+        if (patrolState == null || indices.containsKey(entity)) return;
+
+        register(entity, patrolState.speed, patrolState.duration);
+
+        int index = indices.get(entity);
+        positionsX[index] = patrolState.positionX;
+        previousPositionsX[index] = patrolState.positionX;
+        elapsedTimes[index] = patrolState.elapsedTime;
+        movingRight[index] = patrolState.movingRight;
+    }
+
+    public boolean captureState(Entity entity, double[] positionsXOut, double[] elapsedTimesOut,
+                                boolean[] movingRightOut, int offset) {
+
+        Integer index = indices.get(entity);
+        if (index == null) return false;
+
+        positionsXOut[offset] = positionsX[index];
+        elapsedTimesOut[offset] = elapsedTimes[index];
+        movingRightOut[offset] = movingRight[index];
+
+        return true;
+    }
+
+    public void restoreState(Entity entity, double positionX, double elapsedTime, boolean movingRight) {
+
+        Integer index = indices.get(entity);
+        if (index == null) return;
+
+        positionsX[index] = positionX;
+        previousPositionsX[index] = positionX;
+        elapsedTimes[index] = elapsedTime;
+
+        if (this.movingRight[index] != movingRight) {
+            this.movingRight[index] = movingRight;
+            directionChanged[index] = true;
+        }
+    }
+
+    public void update(double tpf) {
+        step(tpf);
+        apply(1.0);
+    }
+
+    public void step(double tpf) {
+
+        long startNanos = System.nanoTime();
+
+        if (size >= PARALLEL_THRESHOLD && isParallel())
+            forkJoinPool.invoke(new AdvanceTask(0, size, tpf));
+        else
+            advance(0, size, tpf);
+
+        lastUpdateNanos = System.nanoTime() - startNanos;
+    }
+
+    public void apply(double interpolationAlpha) {
+
+        for (int i = 0; i < size; i++) {
+
+            entities[i].setX(previousPositionsX[i] + (positionsX[i] - previousPositionsX[i]) * interpolationAlpha);
+
+            if (directionChanged[i]) {
+                entities[i].setScaleX(movingRight[i] ? -1 : 1);
+                directionChanged[i] = false;
+            }
+        }
+    }
+
+    private void advance(int from, int to, double tpf) {
+
+        for (int i = from; i < to; i++) {
+
+            double elapsedTime = elapsedTimes[i] + tpf;
+
+            if (elapsedTime >= durations[i]) {
+                movingRight[i] = !movingRight[i];
+                directionChanged[i] = true;
+                elapsedTime = 0;
+            }
+
+            elapsedTimes[i] = elapsedTime;
+            previousPositionsX[i] = positionsX[i];
+            positionsX[i] += movingRight[i] ? -speeds[i] * tpf : speeds[i] * tpf;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        indices.clear();
+        size = 0;
+    }
+
+    private void grow() {
+
+        int capacity = entities.length * 2;
+
+        entities = Arrays.copyOf(entities, capacity);
+        positionsX = Arrays.copyOf(positionsX, capacity);
+        previousPositionsX = Arrays.copyOf(previousPositionsX, capacity);
+        speeds = Arrays.copyOf(speeds, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        elapsedTimes = Arrays.copyOf(elapsedTimes, capacity);
+        movingRight = Arrays.copyOf(movingRight, capacity);
+        directionChanged = Arrays.copyOf(directionChanged, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getLastUpdateNanos() {
+        return lastUpdateNanos;
+    }
+
+    double[] copyPositionsX() {
+        return Arrays.copyOf(positionsX, size);
+    }
+
+    public boolean isParallel() {
+        return parallel && !Boolean.getBoolean(SINGLE_THREADED_PROPERTY);
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public static class PatrolState {
+
+        private final double positionX;
+        private final double speed;
+        private final double duration;
+        private final double elapsedTime;
+        private final boolean movingRight;
+
+        private PatrolState(double positionX, double speed, double duration, double elapsedTime, boolean movingRight) {
+            this.positionX = positionX;
+            this.speed = speed;
+            this.duration = duration;
+            this.elapsedTime = elapsedTime;
+            this.movingRight = movingRight;
+        }
+    }
+
+    private class AdvanceTask extends RecursiveAction {
+
+        private int from;
+        private int to;
+        private double tpf;
+
+        private AdvanceTask(int from, int to, double tpf) {
+            this.from = from;
+            this.to = to;
+            this.tpf = tpf;
+        }
+
+        @Override
+        protected void compute() {
+
+            if (to - from <= BATCH_SIZE) {
+                advance(from, to, tpf);
+                return;
+            }
+
+            int middle = (from + to) >>> 1;
+            invokeAll(new AdvanceTask(from, middle, tpf), new AdvanceTask(middle, to, tpf));
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.monjasa.engine.entities.components.DynamicComponent;
 import org.monjasa.engine.entities.components.EntityHPComponent;
 import org.monjasa.engine.entities.enemies.Enemy;
 import org.monjasa.engine.entities.enemies.EnemyBuilder;
+import org.monjasa.engine.entities.enemies.EnemyFlyweightFactory;
 import org.monjasa.engine.entities.enemies.ForestEnemy;
 import org.monjasa.engine.entities.exits.Exit;
 import org.monjasa.engine.entities.exits.ExitBuilder;
@@ -48,6 +49,7 @@ public class ForestLevelFactory extends PlatformerLevelFactory {
     private static final String FOREST_DEVELOPING_LEVEL_NAME = "level_dev";
 
     private CoinFlyweightFactory coinFactory = CoinFlyweightFactory.getCoinFactoryInstance();
+    private EnemyFlyweightFactory enemyFactory = EnemyFlyweightFactory.getEnemyFactoryInstance();
 
     public ForestLevelFactory(int maxLevel) {
 
@@ -56,6 +58,10 @@ public class ForestLevelFactory extends PlatformerLevelFactory {
         coinSpritesheetName = "forest-coin-spritesheet-min.png";
         coinCollectSoundName = "pickup-coin.wav";
 
+        enemySpritesheetName = "enemy-spritesheet.png";
+
+        tileLayerChunkSize = 512;
+
         playerHorizontalVelocity = 200;
         playerVerticalVelocity = 800;
 
@@ -132,7 +138,7 @@ public class ForestLevelFactory extends PlatformerLevelFactory {
                 .addType(PlatformerEntityType.ENEMY)
                 .loadFromSpawnData(data)
                 .layerAt(1)
-                .attachComponents(new ForestEnemy.ForestEnemyComponent(patrolEndX))
+                .attachComponents(new ForestEnemy.ForestEnemyComponent(enemyFactory.getEnemyFlyweight(this), patrolEndX))
                 .addHitBox(new HitBox(BoundingShape.box(135, 135)))
                 .setCollidable()
                 .buildEnemy();
@@ -15,23 +15,25 @@ import org.monjasa.engine.entities.enemies.Enemy;
 import org.monjasa.engine.entities.exits.Exit;
 import org.monjasa.engine.entities.platforms.Platform;
 import org.monjasa.engine.entities.players.Player;
+import org.monjasa.engine.levels.tmx.PlatformerTMXLevelData;
 import org.monjasa.engine.levels.tmx.PlatformerTMXLoaderFacade;
 
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
-import static com.almasb.fxgl.dsl.FXGL.getAssetLoader;
-
 public abstract class PlatformerLevelFactory {
 
     protected int maxLevel;
     protected String levelPrefix;
     protected String developingLevelName;
+    protected int tileLayerChunkSize;
 
     protected String coinSpritesheetName;
     protected String coinCollectSoundName;
 
+    protected String enemySpritesheetName;
+
     protected List<Component> playerComponents;
     protected double playerHorizontalVelocity;
     protected double playerVerticalVelocity;
@@ -69,8 +71,12 @@ public abstract class PlatformerLevelFactory {
     public abstract Checkpoint createCheckpoint(SpawnData data);
 
     public final Level createLevel(URL levelURL, boolean isDevelopingNewLevel) {
+        return createLevel(loadLevelData(levelURL, isDevelopingNewLevel));
+    }
 
-        Level level = loadLevelFromTMX(levelURL, isDevelopingNewLevel);
+    public final Level createLevel(PlatformerTMXLevelData levelData) {
+
+        Level level = new PlatformerTMXLoaderFacade(tileLayerChunkSize).load(levelData, FXGL.getGameWorld());
 
         List<Entity> layers = createBackground();
         layers.forEach(level.getEntities()::add);
@@ -81,13 +87,13 @@ public abstract class PlatformerLevelFactory {
         return level;
     }
 
-    private Level loadLevelFromTMX(URL levelURL, boolean isDevelopingNewLevel) {
+    public PlatformerTMXLevelData loadLevelData(URL levelURL, boolean isDevelopingNewLevel) {
 
         if (isDevelopingNewLevel && developingLevelName != null) {
-            return getAssetLoader().loadLevel(String.format("tmx/%s.tmx", developingLevelName),
-                    new PlatformerTMXLoaderFacade());
+            return new PlatformerTMXLoaderFacade().loadLevelData(PlatformerLevelFactory.class.getResource(
+                    String.format("/assets/levels/tmx/%s.tmx", developingLevelName)));
         } else {
-            return new PlatformerTMXLoaderFacade().load(levelURL, FXGL.getGameWorld());
+            return new PlatformerTMXLoaderFacade().loadLevelData(PlatformerTMXLoaderFacade.findCompiledLevel(levelURL));
         }
     }
 
@@ -124,6 +130,10 @@ public abstract class PlatformerLevelFactory {
         return coinCollectSoundName;
     }
 
+    public String getEnemySpritesheetName() {
+        return enemySpritesheetName;
+    }
+
     public String getLevelPrefix() {
         return levelPrefix;
     }
@@ -10,6 +10,7 @@ public class ForestPlayerControlComponent extends PlayerControlComponent {
     private ForestPlayer parentEntity;
 
     private PhysicsComponent physicsComponent;
+    private DynamicComponent dynamicComponent;
 
     private boolean movingVertically;
 
@@ -40,12 +41,12 @@ public class ForestPlayerControlComponent extends PlayerControlComponent {
 
     @Override
     public void moveLeft() {
-        physicsComponent.setVelocityX(-1.0 * parentEntity.getComponent(DynamicComponent.class).getHorizontalVelocity());
+        physicsComponent.setVelocityX(-1.0 * dynamicComponent.getHorizontalVelocity());
     }
 
     @Override
     public void moveRight() {
-        physicsComponent.setVelocityX(parentEntity.getComponent(DynamicComponent.class).getHorizontalVelocity());
+        physicsComponent.setVelocityX(dynamicComponent.getHorizontalVelocity());
     }
 
     @Override
@@ -56,7 +57,7 @@ public class ForestPlayerControlComponent extends PlayerControlComponent {
     @Override
     public void jump() {
         if (physicsComponent.isOnGround()) {
-            physicsComponent.setVelocityY(-1.0 * parentEntity.getComponent(DynamicComponent.class).getVerticalVelocity());
+            physicsComponent.setVelocityY(-1.0 * dynamicComponent.getVerticalVelocity());
         }
     }
 
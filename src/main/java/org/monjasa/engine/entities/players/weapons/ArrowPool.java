@@ -0,0 +1,177 @@
+package org.monjasa.engine.entities.players.weapons;
+
+import com.almasb.fxgl.dsl.FXGL;
+import com.almasb.fxgl.dsl.components.ProjectileComponent;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.component.Component;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import javafx.geometry.Point2D;
+import javafx.util.Duration;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.almasb.fxgl.dsl.FXGL.texture;
+import static org.monjasa.engine.entities.PlatformerEntityType.PROJECTILE;
+
+public class ArrowPool {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final Duration ARROW_LIFETIME = Duration.millis(1000);
+    private static final Point2D PARKING_POSITION = new Point2D(-10_000, -10_000);
+
+    private static volatile ArrowPool instance;
+
+    public static ArrowPool getArrowPoolInstance() {
+
+        if (instance == null)
+            synchronized (ArrowPool.class) {
+                if (instance == null)
+                    instance = new ArrowPool(DEFAULT_CAPACITY);
+            }
+
+        return instance;
+    }
+
+    private int capacity;
+    private Deque<Entity> freeArrows;
+
+    private Set<Entity> arrowsInUse;
+    private int highWaterMark;
+    private int missCount;
+
+    private ArrowPool(int capacity) {
+        this.capacity = capacity;
+        this.freeArrows = new ArrayDeque<>(capacity);
+        this.arrowsInUse = new HashSet<>();
+    }
+
+    public Entity fire(Point2D position, Point2D direction, double speed) {
+
+        while (!freeArrows.isEmpty() && !freeArrows.peek().isActive()) freeArrows.pop();
+
+        Entity arrow;
+        if (freeArrows.isEmpty()) {
+            missCount++;
+            arrow = createArrow();
+        } else {
+            arrow = freeArrows.pop();
+        }
+
+        ProjectileComponent projectileComponent = arrow.getComponent(ProjectileComponent.class);
+        projectileComponent.setDirection(direction);
+        projectileComponent.setSpeed(speed);
+        projectileComponent.resume();
+
+        arrow.getComponent(PooledArrowComponent.class).launch();
+        arrow.getComponent(CollidableComponent.class).setValue(true);
+        arrow.setPosition(position);
+        arrow.setVisible(true);
+
+        arrowsInUse.add(arrow);
+        highWaterMark = Math.max(highWaterMark, arrowsInUse.size());
+
+        return arrow;
+    }
+
+    public void release(Entity arrow) {
+
+        PooledArrowComponent pooledArrowComponent = arrow.getComponentOptional(PooledArrowComponent.class).orElse(null);
+
+        if (pooledArrowComponent == null) {
+            arrow.removeFromWorld();
+            return;
+        }
+
+        if (!arrowsInUse.remove(arrow)) return;
+
+        if (!arrow.isActive() || freeArrows.size() >= capacity) {
+            if (arrow.isActive()) arrow.removeFromWorld();
+            return;
+        }
+
+        park(arrow);
+        freeArrows.push(arrow);
+    }
+
+    public void prewarm() {
+        clear();
+        while (freeArrows.size() < capacity) freeArrows.push(createArrow());
+    }
+
+    public void clear() {
+
+        for (Entity arrow : freeArrows) if (arrow.isActive()) arrow.removeFromWorld();
+        for (Entity arrow : arrowsInUse) if (arrow.isActive()) arrow.removeFromWorld();
+
+        freeArrows.clear();
+        arrowsInUse.clear();
+    }
+
+    private Entity createArrow() {
+
+        Entity arrow = FXGL.entityBuilder()
+                .type(PROJECTILE)
+                .viewWithBBox(texture("arrow.png"))
+                .collidable()
+                .with(new ProjectileComponent(new Point2D(1, 0), 0))
+                .with(new PooledArrowComponent(this))
+                .buildAndAttach();
+
+        park(arrow);
+
+        return arrow;
+    }
+
+    private void park(Entity arrow) {
+        arrow.getComponent(ProjectileComponent.class).pause();
+        arrow.getComponent(PooledArrowComponent.class).pause();
+        arrow.getComponent(CollidableComponent.class).setValue(false);
+        arrow.setVisible(false);
+        arrow.setPosition(PARKING_POSITION);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+        while (freeArrows.size() > this.capacity) freeArrows.pop().removeFromWorld();
+    }
+
+    public int getArrowsInUse() {
+        return arrowsInUse.size();
+    }
+
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    public int getMissCount() {
+        return missCount;
+    }
+
+    static class PooledArrowComponent extends Component {
+
+        private ArrowPool arrowPool;
+        private double lifetime;
+
+        PooledArrowComponent(ArrowPool arrowPool) {
+            this.arrowPool = arrowPool;
+        }
+
+        void launch() {
+            lifetime = 0;
+            resume();
+        }
+
+        @Override
+        public void onUpdate(double tpf) {
+            lifetime += tpf;
+            if (lifetime >= ARROW_LIFETIME.toSeconds()) arrowPool.release(entity);
+        }
+    }
+}
@@ -1,22 +1,22 @@
 package org.monjasa.engine.entities.players.weapons;
 
 import com.almasb.fxgl.dsl.FXGL;
-import com.almasb.fxgl.dsl.components.ProjectileComponent;
-import com.almasb.fxgl.entity.Entity;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import javafx.geometry.Point2D;
 import javafx.util.Duration;
+import org.monjasa.engine.PlatformerApplication;
+import org.monjasa.engine.entities.players.Player;
 import org.monjasa.engine.entities.players.components.PlayerViewComponent;
 
-import static com.almasb.fxgl.dsl.FXGL.*;
-import static org.monjasa.engine.entities.PlatformerEntityType.PLAYER;
-import static org.monjasa.engine.entities.PlatformerEntityType.PROJECTILE;
+import static com.almasb.fxgl.dsl.FXGL.runOnce;
 
 public class BowStrategy implements WeaponStrategy {
 
     private StringProperty descriptionProperty;
 
+    private ArrowPool arrowPool = ArrowPool.getArrowPoolInstance();
+
     public BowStrategy() {
         descriptionProperty = new SimpleStringProperty("Bow");
     }
@@ -30,21 +30,15 @@ public class BowStrategy implements WeaponStrategy {
     public void useWeapon() {
 
         runOnce(() -> {
-            double arrowX = getGameWorld().getSingleton(PLAYER).getX() + 20;
-            double arrowY = getGameWorld().getSingleton(PLAYER).getY() + 40;
+            Player player = FXGL.<PlatformerApplication>getAppCast().getPlayer();
 
-            double arrowSpeed = 500.0;
-            Point2D arrowDirection = new Point2D(getGameWorld().getSingleton(PLAYER).getScaleX(), 0);
+            double arrowX = player.getX() + 20;
+            double arrowY = player.getY() + 40;
 
-            Entity arrow = FXGL.entityBuilder()
-                    .type(PROJECTILE)
-                    .at(arrowX, arrowY)
-                    .viewWithBBox(texture("arrow.png"))
-                    .collidable()
-                    .with(new ProjectileComponent(arrowDirection, arrowSpeed))
-                    .buildAndAttach();
+            double arrowSpeed = 500.0;
+            Point2D arrowDirection = new Point2D(player.getScaleX(), 0);
 
-            runOnce(arrow::removeFromWorld, Duration.millis(1000));
+            arrowPool.fire(new Point2D(arrowX, arrowY), arrowDirection, arrowSpeed);
 
         }, Duration.millis(500));
     }
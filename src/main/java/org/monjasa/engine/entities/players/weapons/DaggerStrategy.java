@@ -4,22 +4,26 @@ import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.util.Duration;
+import org.monjasa.engine.PlatformerApplication;
+import org.monjasa.engine.entities.players.Player;
 import org.monjasa.engine.entities.players.components.PlayerViewComponent;
+import org.monjasa.engine.levels.PlatformerLevel;
 
-import static com.almasb.fxgl.dsl.FXGL.getGameWorld;
-import static com.almasb.fxgl.dsl.FXGL.runOnce;
-import static org.monjasa.engine.entities.PlatformerEntityType.PLAYER;
-import static org.monjasa.engine.entities.PlatformerEntityType.PROJECTILE;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.monjasa.engine.entities.PlatformerEntityType.ENEMY;
 
 public class DaggerStrategy implements WeaponStrategy {
 
+    private static final double ATTACK_AREA_WIDTH = 20;
+
     private StringProperty descriptionProperty;
+    private List<Entity> entitiesInAttackArea;
 
     public DaggerStrategy() {
         descriptionProperty = new SimpleStringProperty("Dagger");
+        entitiesInAttackArea = new ArrayList<>();
     }
 
     @Override
@@ -30,17 +34,24 @@ public class DaggerStrategy implements WeaponStrategy {
     @Override
     public void useWeapon() {
 
-        double attackAreaX = getGameWorld().getSingleton(PLAYER).getRightX();
-        double attackAreaY = getGameWorld().getSingleton(PLAYER).getY();
+        PlatformerApplication application = FXGL.<PlatformerApplication>getAppCast();
+        Player player = application.getPlayer();
+
+        double attackAreaX = player.getRightX();
+        double attackAreaY = player.getY();
+
+        PlatformerLevel currentLevel = application.getCurrentLevel();
+
+        // the hits are collected before killing, since killEnemy removes the enemy from the grid being queried
+        currentLevel.getSpatialGrid().getEntitiesInRect(attackAreaX, attackAreaY,
+                attackAreaX + ATTACK_AREA_WIDTH, attackAreaY + player.getHeight(), entitiesInAttackArea);
 
-        Entity attackArea = FXGL.entityBuilder()
-                .type(PROJECTILE)
-                .at(attackAreaX, attackAreaY)
-                .viewWithBBox(new Rectangle(20, getGameWorld().getSingleton(PLAYER).getHeight(), Color.TRANSPARENT))
-                .collidable()
-                .buildAndAttach();
+        for (int i = 0; i < entitiesInAttackArea.size(); i++) {
+            Entity entity = entitiesInAttackArea.get(i);
+            if (entity.isType(ENEMY)) currentLevel.killEnemy(entity);
+        }
 
-        runOnce(attackArea::removeFromWorld, Duration.millis(100));
+        entitiesInAttackArea.clear();
     }
 
     @Override
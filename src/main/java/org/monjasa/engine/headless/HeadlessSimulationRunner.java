@@ -0,0 +1,169 @@
+package org.monjasa.engine.headless;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import com.almasb.fxgl.entity.level.tiled.Layer;
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import com.almasb.fxgl.entity.level.tiled.TiledObject;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import com.almasb.fxgl.physics.PhysicsComponent;
+import com.almasb.fxgl.physics.PhysicsWorld;
+import com.almasb.fxgl.physics.box2d.dynamics.BodyType;
+import org.monjasa.engine.entities.PlatformerEntityType;
+import org.monjasa.engine.entities.enemies.EnemyPatrolSystem;
+import org.monjasa.engine.levels.PlatformerRewindBuffer;
+import org.monjasa.engine.levels.tmx.PlatformerTMXLoaderFacade;
+import org.monjasa.engine.util.FixedTimestepScheduler;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+public class HeadlessSimulationRunner {
+
+    private static final int DEFAULT_TICKS = 100_000;
+    private static final int DEFAULT_STEPS_PER_SECOND = 60;
+    private static final String DEFAULT_LEVEL_PREFIX = "forest";
+
+    private static final double ENEMY_PATROL_DURATION = 2.0;
+    private static final double PHYSICS_PIXELS_PER_METER = 50.0;
+    private static final int REWIND_SECONDS = 5;
+
+    private PlatformerTMXLoaderFacade loaderFacade;
+    private int stepsPerSecond;
+
+    private double lastRewindNanosPer1000Entities;
+
+    public HeadlessSimulationRunner(int stepsPerSecond) {
+        this.loaderFacade = new PlatformerTMXLoaderFacade();
+        this.stepsPerSecond = stepsPerSecond;
+    }
+
+    public double run(URL levelURL, long ticks) {
+
+        TiledMap levelMap = loaderFacade.loadLevelMap(PlatformerTMXLoaderFacade.findCompiledLevel(levelURL));
+
+        GameWorld gameWorld = new GameWorld();
+        PhysicsWorld physicsWorld = new PhysicsWorld(
+                levelMap.getHeight() * levelMap.getTileheight(), PHYSICS_PIXELS_PER_METER);
+        physicsWorld.setGravity(0, 1000);
+        gameWorld.addWorldListener(physicsWorld);
+
+        EnemyPatrolSystem patrolSystem = EnemyPatrolSystem.getPatrolSystemInstance();
+        patrolSystem.clear();
+
+        spawnEntities(levelMap, gameWorld, patrolSystem);
+
+        PlatformerRewindBuffer rewindBuffer = new PlatformerRewindBuffer(REWIND_SECONDS * stepsPerSecond, patrolSystem.size());
+        gameWorld.getEntitiesByType(PlatformerEntityType.ENEMY).forEach(rewindBuffer::track);
+
+        FixedTimestepScheduler scheduler = new FixedTimestepScheduler(stepsPerSecond);
+
+        long[] rewindCaptureNanos = new long[1];
+        long startNanos = System.nanoTime();
+
+        scheduler.runSteps(ticks, stepDuration -> {
+            patrolSystem.step(stepDuration);
+            rewindBuffer.capture();
+            rewindCaptureNanos[0] += rewindBuffer.getLastCaptureNanos();
+            patrolSystem.apply(1.0);
+            gameWorld.onUpdate(stepDuration);
+            physicsWorld.onUpdate(stepDuration);
+        });
+
+        long elapsedNanos = Math.max(System.nanoTime() - startNanos, 1);
+
+        int trackedEntityCount = rewindBuffer.getTrackedEntityCount();
+        lastRewindNanosPer1000Entities = trackedEntityCount == 0 ? 0
+                : rewindCaptureNanos[0] * 1000.0 / ((double) ticks * trackedEntityCount);
+
+        gameWorld.clear();
+        patrolSystem.clear();
+
+        return ticks * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private void spawnEntities(TiledMap levelMap, GameWorld gameWorld, EnemyPatrolSystem patrolSystem) {
+
+        for (Layer layer : levelMap.getLayers()) {
+
+            if (!layer.getType().equals("objectgroup")) continue;
+
+            for (TiledObject tiledObject : layer.getObjects()) {
+
+                PlatformerEntityType entityType = PlatformerEntityType.valueOf(tiledObject.getType().toUpperCase());
+
+                Entity entity = new Entity();
+                entity.setType(entityType);
+                entity.setPosition(tiledObject.getX(),
+                        tiledObject.getY() - (tiledObject.getGid() == 0 ? 0 : tiledObject.getHeight()));
+                entity.getBoundingBoxComponent().addHitBox(new HitBox(BoundingShape.box(
+                        Math.max(tiledObject.getWidth(), 1), Math.max(tiledObject.getHeight(), 1))));
+
+                switch (entityType) {
+                    case PLATFORM:
+                        entity.addComponent(new PhysicsComponent());
+                        break;
+                    case PLAYER:
+                        PhysicsComponent playerPhysicsComponent = new PhysicsComponent();
+                        playerPhysicsComponent.setBodyType(BodyType.DYNAMIC);
+                        entity.addComponent(playerPhysicsComponent);
+                        entity.addComponent(new CollidableComponent(true));
+                        break;
+                    default:
+                        entity.addComponent(new CollidableComponent(true));
+                        break;
+                }
+
+                gameWorld.addEntity(entity);
+
+                if (entityType == PlatformerEntityType.ENEMY) {
+                    int patrolEndX = (Integer) tiledObject.getProperties().get("patrolEndX");
+                    patrolSystem.register(entity, (patrolEndX - entity.getX()) / ENEMY_PATROL_DURATION,
+                            ENEMY_PATROL_DURATION);
+                }
+            }
+        }
+    }
+
+    public double getLastRewindNanosPer1000Entities() {
+        return lastRewindNanosPer1000Entities;
+    }
+
+    private static List<URL> findLevelURLs(String levelPrefix) {
+
+        List<URL> levelURLs = new ArrayList<>();
+
+        for (int i = 0; ; i++) {
+            URL levelURL = HeadlessSimulationRunner.class.getClassLoader().getResource(
+                    String.format("assets/levels/tmx/%s_%02d.tmx", levelPrefix, i));
+            if (levelURL == null) return levelURLs;
+            levelURLs.add(levelURL);
+        }
+    }
+
+    public static void main(String[] args) {
+
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TICKS;
+        int stepsPerSecond = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STEPS_PER_SECOND;
+        String levelPrefix = args.length > 2 ? args[2] : DEFAULT_LEVEL_PREFIX;
+
+        HeadlessSimulationRunner runner = new HeadlessSimulationRunner(stepsPerSecond);
+
+        List<URL> levelURLs = findLevelURLs(levelPrefix);
+        if (levelURLs.isEmpty()) throw new IllegalArgumentException("No levels found for prefix " + levelPrefix);
+
+        double totalTicksPerSecond = 0;
+
+        for (URL levelURL : levelURLs) {
+            double ticksPerSecond = runner.run(levelURL, ticks);
+            totalTicksPerSecond += ticksPerSecond;
+            System.out.printf("%s: %d ticks, %.0f ticks/s, rewind capture %.0f ns/tick per 1000 entities%n",
+                    levelURL.getPath(), ticks, ticksPerSecond, runner.getLastRewindNanosPer1000Entities());
+        }
+
+        System.out.printf("average: %.0f ticks/s%n", totalTicksPerSecond / levelURLs.size());
+    }
+}
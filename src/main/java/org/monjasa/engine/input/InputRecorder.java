@@ -0,0 +1,96 @@
+package org.monjasa.engine.input;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public class InputRecorder implements Closeable {
+
+    static final int MAGIC = 0x574F5352;
+    static final int VERSION = 1;
+
+    private static final PlatformerInputAction[] ACTIONS = PlatformerInputAction.values();
+
+    private DataOutputStream outputStream;
+    private long lastTick;
+    private int eventCount;
+
+    private byte[] pendingCodes;
+    private int pendingCount;
+    private Set<PlatformerInputAction> heldActions;
+
+    public InputRecorder(Path traceFile, int stepsPerSecond) throws IOException {
+
+        outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(traceFile)));
+
+        outputStream.writeInt(MAGIC);
+        outputStream.writeByte(VERSION);
+        outputStream.writeShort(stepsPerSecond);
+
+        pendingCodes = new byte[16];
+        heldActions = EnumSet.noneOf(PlatformerInputAction.class);
+    }
+
+    public void record(PlatformerInputAction action, PlatformerInputPhase phase) {
+
+        if (phase == PlatformerInputPhase.ACTION) return;
+
+        if (pendingCount == pendingCodes.length) pendingCodes = Arrays.copyOf(pendingCodes, pendingCount * 2);
+        pendingCodes[pendingCount++] = (byte) (action.ordinal() << 1 | (phase == PlatformerInputPhase.END ? 1 : 0));
+    }
+
+    public void dispatch(long tick, BiConsumer<PlatformerInputAction, PlatformerInputPhase> dispatcher) {
+
+        try {
+            for (int i = 0; i < pendingCount; i++) {
+
+                writeVarLong(tick - lastTick);
+                outputStream.writeByte(pendingCodes[i]);
+
+                lastTick = tick;
+                eventCount++;
+
+                PlatformerInputAction action = ACTIONS[pendingCodes[i] >>> 1];
+                PlatformerInputPhase phase = (pendingCodes[i] & 1) == 0
+                        ? PlatformerInputPhase.BEGIN
+                        : PlatformerInputPhase.END;
+
+                if (phase == PlatformerInputPhase.BEGIN) heldActions.add(action);
+                else heldActions.remove(action);
+
+                dispatcher.accept(action, phase);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            pendingCount = 0;
+        }
+
+        for (PlatformerInputAction action : heldActions) dispatcher.accept(action, PlatformerInputPhase.ACTION);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            outputStream.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        outputStream.writeByte((int) value);
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    public void flush() throws IOException {
+        outputStream.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        outputStream.close();
+    }
+}
@@ -0,0 +1,106 @@
+package org.monjasa.engine.input;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public class InputReplayDriver {
+
+    private static final PlatformerInputAction[] ACTIONS = PlatformerInputAction.values();
+
+    private int stepsPerSecond;
+
+    private long[] eventTicks;
+    private byte[] eventCodes;
+    private int eventCount;
+
+    private int position;
+    private Set<PlatformerInputAction> heldActions;
+
+    public InputReplayDriver(Path traceFile, int expectedStepsPerSecond) throws IOException {
+
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(traceFile)))) {
+
+            if (inputStream.readInt() != InputRecorder.MAGIC)
+                throw new IOException("Not an input trace: " + traceFile);
+
+            int version = inputStream.readUnsignedByte();
+            if (version != InputRecorder.VERSION)
+                throw new IOException("Unsupported input trace version " + version);
+
+            stepsPerSecond = inputStream.readUnsignedShort();
+            if (stepsPerSecond != expectedStepsPerSecond)
+                throw new IOException("Input trace was recorded at " + stepsPerSecond
+                        + " steps per second, simulation runs at " + expectedStepsPerSecond);
+
+            List<long[]> events = new ArrayList<>();
+            long tick = 0;
+
+            int firstByte;
+            while ((firstByte = inputStream.read()) != -1) {
+                tick += readVarLong(inputStream, firstByte);
+                events.add(new long[] { tick, inputStream.readUnsignedByte() });
+            }
+
+            eventCount = events.size();
+            eventTicks = new long[eventCount];
+            eventCodes = new byte[eventCount];
+
+            for (int i = 0; i < eventCount; i++) {
+                eventTicks[i] = events.get(i)[0];
+                eventCodes[i] = (byte) events.get(i)[1];
+            }
+        }
+
+        heldActions = EnumSet.noneOf(PlatformerInputAction.class);
+    }
+
+    public void replay(long tick, BiConsumer<PlatformerInputAction, PlatformerInputPhase> dispatcher) {
+
+        while (position < eventCount && eventTicks[position] <= tick) {
+
+            PlatformerInputAction action = ACTIONS[eventCodes[position] >>> 1];
+            PlatformerInputPhase phase = (eventCodes[position] & 1) == 0
+                    ? PlatformerInputPhase.BEGIN
+                    : PlatformerInputPhase.END;
+
+            if (phase == PlatformerInputPhase.BEGIN) heldActions.add(action);
+            else heldActions.remove(action);
+
+            dispatcher.accept(action, phase);
+            position++;
+        }
+
+        for (PlatformerInputAction action : heldActions) dispatcher.accept(action, PlatformerInputPhase.ACTION);
+    }
+
+    private static long readVarLong(DataInputStream inputStream, int firstByte) throws IOException {
+
+        long value = firstByte & 0x7F;
+        int shift = 7;
+
+        for (int currentByte = firstByte; (currentByte & 0x80) != 0; shift += 7) {
+            currentByte = inputStream.readUnsignedByte();
+            value |= (long) (currentByte & 0x7F) << shift;
+        }
+
+        return value;
+    }
+
+    public boolean isFinished() {
+        return position >= eventCount && heldActions.isEmpty();
+    }
+
+    public int getStepsPerSecond() {
+        return stepsPerSecond;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+}
@@ -0,0 +1,22 @@
+package org.monjasa.engine.input;
+
+public enum PlatformerInputAction {
+
+    MOVE_LEFT("Move Left"),
+    MOVE_RIGHT("Move Right"),
+    JUMP("Jump"),
+    ATTACK("Attack"),
+    SWITCH_WEAPON("Switch Weapon"),
+    OPEN_PERK_TREE("Open Perk Tree"),
+    REWIND("Rewind");
+
+    private String name;
+
+    PlatformerInputAction(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,8 @@
+package org.monjasa.engine.input;
+
+public enum PlatformerInputPhase {
+
+    BEGIN,
+    ACTION,
+    END
+}
@@ -0,0 +1,130 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.profile.DataFile;
+import com.almasb.fxgl.profile.SaveLoadService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class AsyncSaveWriter {
+
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    private ExecutorService ioExecutor;
+    private PlatformerSaveCodec saveCodec;
+
+    private volatile CompletableFuture<Path> pendingSave = CompletableFuture.completedFuture(null);
+
+    private volatile long lastSnapshotNanos;
+    private volatile long lastWriteNanos;
+    private volatile int lastSaveSize;
+
+    public AsyncSaveWriter() {
+        ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        saveCodec = new PlatformerSaveCodec();
+    }
+
+    public CompletableFuture<Path> save(SaveLoadService saveLoadService, String fileName) {
+
+        long startNanos = System.nanoTime();
+
+        DataFile dataFile = new DataFile();
+        saveLoadService.save(dataFile);
+
+        lastSnapshotNanos = System.nanoTime() - startNanos;
+
+        return pendingSave = CompletableFuture.supplyAsync(() -> {
+
+            long writeStartNanos = System.nanoTime();
+
+            try {
+                Path savedFile = write(dataFile, Paths.get(fileName));
+                lastWriteNanos = System.nanoTime() - writeStartNanos;
+                return savedFile;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+        }, ioExecutor);
+    }
+
+    private Path write(DataFile dataFile, Path saveFile) throws IOException {
+
+        byte[] encodedData = saveCodec.encode(dataFile);
+        lastSaveSize = encodedData.length;
+
+        Path absoluteSaveFile = saveFile.toAbsolutePath();
+        Path temporaryFile = absoluteSaveFile.resolveSibling(absoluteSaveFile.getFileName() + TEMPORARY_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(temporaryFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.wrap(encodedData);
+            while (buffer.hasRemaining()) channel.write(buffer);
+
+            channel.force(true);
+        }
+
+        Files.move(temporaryFile, absoluteSaveFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(absoluteSaveFile.getParent());
+
+        return absoluteSaveFile;
+    }
+
+    public DataFile read(String fileName) {
+
+        // a save still in flight would otherwise be missed and the previous save read instead
+        try {
+            pendingSave.join();
+        } catch (CompletionException ignored) {
+        }
+
+        try {
+            return saveCodec.read(Paths.get(fileName));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    public long getLastSnapshotNanos() {
+        return lastSnapshotNanos;
+    }
+
+    public long getLastWriteNanos() {
+        return lastWriteNanos;
+    }
+
+    public int getLastSaveSize() {
+        return lastSaveSize;
+    }
+
+    public PlatformerSaveCodec getSaveCodec() {
+        return saveCodec;
+    }
+
+    public void shutdown() {
+        ioExecutor.shutdown();
+    }
+}
@@ -1,5 +1,6 @@
 package org.monjasa.engine.levels;
 
+import com.almasb.fxgl.core.collection.PropertyMap;
 import com.almasb.fxgl.core.serialization.Bundle;
 import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
@@ -10,25 +11,41 @@ import org.monjasa.engine.entities.PlatformerEntityType;
 import org.monjasa.engine.entities.components.EntityHPComponent;
 import org.monjasa.engine.perks.PerkTree;
 
+import java.io.Serializable;
+import java.util.function.Supplier;
+
 import static com.almasb.fxgl.dsl.FXGL.*;
 
 public class LevelSaveLoadHandler implements SaveLoadHandler {
 
+    private Supplier<PropertyMap> worldProperties;
+    private Supplier<Entity> player;
+
+    public LevelSaveLoadHandler() {
+        this(FXGL::getWorldProperties, () -> getGameWorld().getSingleton(PlatformerEntityType.PLAYER));
+    }
+
+    LevelSaveLoadHandler(Supplier<PropertyMap> worldProperties, Supplier<Entity> player) {
+        this.worldProperties = worldProperties;
+        this.player = player;
+    }
+
     @Override
     public void onLoad(DataFile dataFile) {
 
+        PropertyMap properties = worldProperties.get();
+        Entity player = this.player.get();
+
         Bundle levelBundle = dataFile.getBundle("Level");
-        getWorldProperties().setValue("level", levelBundle.<Integer>get("level"));
+        properties.setValue("level", levelBundle.<Integer>get("level"));
 
         Bundle mementoBundle = dataFile.getBundle("Memento");
 
-        getWorldProperties().setValue("coinsCollected", mementoBundle.<Integer>get("coinsCollected"));
-        getWorldProperties().setValue("coinsAvailable", mementoBundle.<Integer>get("coinsCollected"));
+        properties.setValue("coinsCollected", mementoBundle.<Integer>get("coinsCollected"));
+        properties.setValue("coinsAvailable", mementoBundle.<Integer>get("coinsAvailable"));
 
         Bundle perksBundle = dataFile.getBundle("Perks");
-        getWorldProperties().<PerkTree>getObject("perkTree").read(perksBundle);
-
-        Entity player = getGameWorld().getSingleton(PlatformerEntityType.PLAYER);
+        properties.<PerkTree>getObject("perkTree").read(perksBundle, player);
 
         player.getComponent(EntityHPComponent.class).setValue(mementoBundle.<Integer>get("EntityHPComponent.value"));
     }
@@ -36,16 +53,24 @@ public class LevelSaveLoadHandler implements SaveLoadHandler {
     @Override
     public void onSave(DataFile dataFile) {
 
+        PropertyMap properties = worldProperties.get();
+
         Bundle levelBundle = new Bundle("Level");
-        levelBundle.put("level", geti("level"));
+        levelBundle.put("level", properties.getInt("level"));
 
-        Bundle mementoBundle = FXGL.<PlatformerApplication>getAppCast().getLevelSnapshot().getMementoBundle();
+        Bundle mementoBundle = copyBundle(FXGL.<PlatformerApplication>getAppCast().getLevelSnapshot().getMementoBundle());
 
         Bundle perksBundle = new Bundle("Perks");
-        getWorldProperties().<PerkTree>getObject("perkTree").write(perksBundle);
+        properties.<PerkTree>getObject("perkTree").write(perksBundle);
 
         dataFile.putBundle(levelBundle);
         dataFile.putBundle(mementoBundle);
         dataFile.putBundle(perksBundle);
     }
+
+    private static Bundle copyBundle(Bundle bundle) {
+        Bundle bundleCopy = new Bundle(bundle.getName());
+        bundle.getData().forEach((key, value) -> bundleCopy.put(key, (Serializable) value));
+        return bundleCopy;
+    }
 }
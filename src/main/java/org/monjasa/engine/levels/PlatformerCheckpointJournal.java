@@ -0,0 +1,53 @@
+package org.monjasa.engine.levels;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class PlatformerCheckpointJournal {
+
+    @FunctionalInterface
+    public interface CheckpointDelta {
+        void revert();
+    }
+
+    private List<CheckpointDelta> deltas;
+
+    private long lastCommitNanos;
+    private long lastRevertNanos;
+
+    public PlatformerCheckpointJournal() {
+        deltas = new ArrayList<>();
+    }
+
+    public void record(CheckpointDelta delta) {
+        deltas.add(delta);
+    }
+
+    public void commit() {
+        long startNanos = System.nanoTime();
+        deltas.clear();
+        lastCommitNanos = System.nanoTime() - startNanos;
+    }
+
+    public void revert() {
+
+        long startNanos = System.nanoTime();
+
+        for (int i = deltas.size() - 1; i >= 0; i--) deltas.get(i).revert();
+        deltas.clear();
+
+        lastRevertNanos = System.nanoTime() - startNanos;
+    }
+
+    public int getDeltaCount() {
+        return deltas.size();
+    }
+
+    public long getLastCommitNanos() {
+        return lastCommitNanos;
+    }
+
+    public long getLastRevertNanos() {
+        return lastRevertNanos;
+    }
+}
@@ -1,5 +1,6 @@
 package org.monjasa.engine.levels;
 
+import com.almasb.fxgl.core.collection.PropertyMap;
 import com.almasb.fxgl.core.serialization.Bundle;
 import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
@@ -14,12 +15,14 @@ import javafx.geometry.Point2D;
 import org.monjasa.engine.PlatformerApplication;
 import org.monjasa.engine.entities.PlatformerEntityType;
 import org.monjasa.engine.entities.components.EntityHPComponent;
+import org.monjasa.engine.entities.enemies.EnemyPatrolSystem;
 import org.monjasa.engine.perks.PerkTree;
 
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static com.almasb.fxgl.dsl.FXGL.getGameWorld;
@@ -27,40 +30,75 @@ import static com.almasb.fxgl.dsl.FXGL.getWorldProperties;
 
 public class PlatformerLevel {
 
+    private static final double SPATIAL_GRID_CELL_SIZE = 256;
+
     private Level level;
+    private PlatformerSpatialGrid spatialGrid;
 
     private IntegerProperty coinsCollectedProperty;
     private IntegerProperty coinsAvailableProperty;
 
-    private List<Entity> coinsToRestore;
+    private PlatformerCheckpointJournal checkpointJournal;
 
     public PlatformerLevel(Level level) {
+        this(level, getWorldProperties());
+    }
 
-        coinsToRestore = new ArrayList<>();
+    PlatformerLevel(Level level, PropertyMap worldProperties) {
+
+        checkpointJournal = new PlatformerCheckpointJournal();
 
         this.level = level;
 
+        spatialGrid = new PlatformerSpatialGrid(SPATIAL_GRID_CELL_SIZE, level.getWidth(), level.getHeight());
+        level.getEntities().forEach(spatialGrid::insert);
+
         coinsCollectedProperty = new SimpleIntegerProperty();
         coinsAvailableProperty = new SimpleIntegerProperty();
-        coinsCollectedProperty.bind(getWorldProperties().intProperty("coinsCollected"));
-        coinsAvailableProperty.bind(getWorldProperties().intProperty("coinsAvailable"));
+        coinsCollectedProperty.bind(worldProperties.intProperty("coinsCollected"));
+        coinsAvailableProperty.bind(worldProperties.intProperty("coinsAvailable"));
     }
 
     public LevelMemento onCheckpoint() {
         getWorldProperties().<PerkTree>getObject("perkTree").savePerkTree();
-        coinsToRestore.clear();
+        checkpointJournal.commit();
         return makeSnapshot();
     }
 
-    public void addCoinToRestore(Entity coin) {
-        coinsToRestore.add(coin);
+    public void collectCoin(Entity coin) {
+
+        if (!coin.hasComponent(CollidableComponent.class)) return;
+
+        coin.setVisible(false);
+        coin.removeComponent(CollidableComponent.class);
+
+        checkpointJournal.record(() -> {
+            coin.addComponent(new CollidableComponent(true));
+            coin.setVisible(true);
+        });
+    }
+
+    public void killEnemy(Entity enemy) {
+
+        if (!enemy.isActive() || !enemy.hasComponent(CollidableComponent.class)) return;
+
+        EnemyPatrolSystem.PatrolState patrolState = EnemyPatrolSystem.getPatrolSystemInstance().suspend(enemy);
+
+        enemy.setVisible(false);
+        enemy.removeComponent(CollidableComponent.class);
+        spatialGrid.remove(enemy);
+
+        checkpointJournal.record(() -> {
+            enemy.addComponent(new CollidableComponent(true));
+            enemy.setVisible(true);
+            EnemyPatrolSystem.getPatrolSystemInstance().resume(enemy, patrolState);
+            spatialGrid.insert(enemy);
+        });
     }
 
     public LevelMemento makeSnapshot() {
 
-        Entity player = level.getEntities().stream()
-                .filter(entity -> entity.getType() == PlatformerEntityType.PLAYER)
-                .findFirst()
+        Entity player = spatialGrid.getFirstEntity(PlatformerEntityType.PLAYER)
                 .orElseThrow(NoSuchEntityException::new);
 
         return new LevelMementoBuilder()
@@ -73,6 +111,8 @@ public class PlatformerLevel {
     public void restoreLevel(LevelMemento levelSnapshot) {
 
         getWorldProperties().<PerkTree>getObject("perkTree").undoPerks();
+        checkpointJournal.revert();
+
         Entity player = getGameWorld().getSingleton(PlatformerEntityType.PLAYER);
 
         player.getComponent(PhysicsComponent.class).overwritePosition(new Point2D(
@@ -85,19 +125,35 @@ public class PlatformerLevel {
         getWorldProperties().setValue("coinsCollected", levelSnapshot.<Integer>getProperty("coinsCollected"));
         getWorldProperties().setValue("coinsAvailable", levelSnapshot.<Integer>getProperty("coinsAvailable"));
         FXGL.<PlatformerApplication>getAppCast().notifyObservers();
+    }
 
-        for (Entity coin : coinsToRestore) {
-            coin.addComponent(new CollidableComponent(true));
-            coin.setVisible(true);
-        }
+    public void updateSpatialGrid() {
+        spatialGrid.updateAll(PlatformerEntityType.PLAYER);
+        spatialGrid.updateAll(PlatformerEntityType.ENEMY);
+    }
 
-        coinsToRestore.clear();
+    public Optional<Entity> findNearestCheckpoint(Point2D point) {
+        return spatialGrid.findNearest(PlatformerEntityType.CHECKPOINT, point);
+    }
+
+    public List<Entity> getEntitiesNearPlayer(double distance) {
+        return spatialGrid.getFirstEntity(PlatformerEntityType.PLAYER)
+                .map(player -> spatialGrid.getEntitiesNear(player, distance))
+                .orElseGet(ArrayList::new);
     }
 
     public Level getLevel() {
         return level;
     }
 
+    public PlatformerCheckpointJournal getCheckpointJournal() {
+        return checkpointJournal;
+    }
+
+    public PlatformerSpatialGrid getSpatialGrid() {
+        return spatialGrid;
+    }
+
     public static class LevelMementoBuilder {
 
         private LevelMemento levelMemento;
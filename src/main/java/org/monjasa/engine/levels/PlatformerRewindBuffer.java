@@ -0,0 +1,178 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.core.math.Vec2;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.physics.PhysicsComponent;
+import com.almasb.fxgl.physics.box2d.dynamics.Body;
+import org.monjasa.engine.entities.components.EntityHPComponent;
+import org.monjasa.engine.entities.enemies.EnemyPatrolSystem;
+
+import java.util.Arrays;
+
+public class PlatformerRewindBuffer {
+
+    private int frameCapacity;
+    private int entityCapacity;
+
+    private Entity player;
+    private PhysicsComponent playerPhysicsComponent;
+    private EntityHPComponent playerHPComponent;
+    private Vec2 playerBodyPosition;
+
+    private float[] playerPositionsX;
+    private float[] playerPositionsY;
+    private double[] playerVelocitiesX;
+    private double[] playerVelocitiesY;
+    private int[] playerHPValues;
+
+    private Entity[] entities;
+    private int entityCount;
+
+    private double[] positionsX;
+    private double[] elapsedTimes;
+    private boolean[] movingRight;
+    private boolean[] captured;
+
+    private int head;
+    private int frameCount;
+
+    private long lastCaptureNanos;
+
+    public PlatformerRewindBuffer(int frameCapacity, int entityCapacity) {
+
+        if (frameCapacity <= 0) throw new IllegalArgumentException("Frame capacity must be positive");
+        if (entityCapacity < 0) throw new IllegalArgumentException("Entity capacity must not be negative");
+
+        this.frameCapacity = frameCapacity;
+        this.entityCapacity = entityCapacity;
+
+        playerBodyPosition = new Vec2();
+
+        playerPositionsX = new float[frameCapacity];
+        playerPositionsY = new float[frameCapacity];
+        playerVelocitiesX = new double[frameCapacity];
+        playerVelocitiesY = new double[frameCapacity];
+        playerHPValues = new int[frameCapacity];
+
+        entities = new Entity[entityCapacity];
+
+        positionsX = new double[frameCapacity * entityCapacity];
+        elapsedTimes = new double[frameCapacity * entityCapacity];
+        movingRight = new boolean[frameCapacity * entityCapacity];
+        captured = new boolean[frameCapacity * entityCapacity];
+    }
+
+    public void setPlayer(Entity player) {
+        this.player = player;
+        this.playerPhysicsComponent = player == null ? null : player.getComponent(PhysicsComponent.class);
+        this.playerHPComponent = player == null ? null : player.getComponent(EntityHPComponent.class);
+        resetFrames();
+    }
+
+    public boolean track(Entity entity) {
+
+        if (entityCount == entityCapacity) return false;
+
+        entities[entityCount++] = entity;
+        resetFrames();
+
+        return true;
+    }
+
+    public void capture() {
+
+        long startNanos = System.nanoTime();
+
+        if (player != null) {
+
+            // the body position is kept in physics units so rewind can restore it without a pixel Point2D
+            Vec2 bodyPosition = playerPhysicsComponent.getBody().getPosition();
+
+            playerPositionsX[head] = bodyPosition.x;
+            playerPositionsY[head] = bodyPosition.y;
+            playerVelocitiesX[head] = playerPhysicsComponent.getVelocityX();
+            playerVelocitiesY[head] = playerPhysicsComponent.getVelocityY();
+            playerHPValues[head] = playerHPComponent.getValue();
+        }
+
+        EnemyPatrolSystem patrolSystem = EnemyPatrolSystem.getPatrolSystemInstance();
+        int frameOffset = head * entityCapacity;
+
+        for (int i = 0; i < entityCount; i++) {
+            captured[frameOffset + i] = entities[i].isActive()
+                    && patrolSystem.captureState(entities[i], positionsX, elapsedTimes, movingRight, frameOffset + i);
+        }
+
+        head = (head + 1) % frameCapacity;
+        frameCount = Math.min(frameCount + 1, frameCapacity);
+
+        lastCaptureNanos = System.nanoTime() - startNanos;
+    }
+
+    public boolean rewind() {
+
+        if (frameCount == 0) return false;
+
+        if (frameCount > 1) {
+            head = (head - 1 + frameCapacity) % frameCapacity;
+            frameCount--;
+        }
+
+        int frame = (head - 1 + frameCapacity) % frameCapacity;
+
+        if (player != null && player.isActive()) {
+
+            Body playerBody = playerPhysicsComponent.getBody();
+            playerBody.setTransform(playerBodyPosition.set(playerPositionsX[frame], playerPositionsY[frame]),
+                    playerBody.getAngle());
+
+            playerPhysicsComponent.setVelocityX(playerVelocitiesX[frame]);
+            playerPhysicsComponent.setVelocityY(playerVelocitiesY[frame]);
+            playerHPComponent.setValue(playerHPValues[frame]);
+        }
+
+        EnemyPatrolSystem patrolSystem = EnemyPatrolSystem.getPatrolSystemInstance();
+        int frameOffset = frame * entityCapacity;
+
+        for (int i = 0; i < entityCount; i++) {
+            if (captured[frameOffset + i] && entities[i].isActive())
+                patrolSystem.restoreState(entities[i], positionsX[frameOffset + i],
+                        elapsedTimes[frameOffset + i], movingRight[frameOffset + i]);
+        }
+
+        return frameCount > 1;
+    }
+
+    public void resetFrames() {
+        head = 0;
+        frameCount = 0;
+    }
+
+    public void clear() {
+        Arrays.fill(entities, 0, entityCount, null);
+        entityCount = 0;
+        setPlayer(null);
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public int getTrackedEntityCount() {
+        return entityCount + (player == null ? 0 : 1);
+    }
+
+    public long getByteSize() {
+        return frameCapacity * (2L * Float.BYTES + 2L * Double.BYTES + Integer.BYTES)
+                + (long) frameCapacity * entityCapacity * (2L * Double.BYTES + 2);
+    }
+
+    public long getLastCaptureNanos() {
+        return lastCaptureNanos;
+    }
+
+    public double getCaptureNanosPer1000Entities() {
+        int trackedEntityCount = getTrackedEntityCount();
+        return trackedEntityCount == 0 ? 0 : lastCaptureNanos * 1000.0 / trackedEntityCount;
+    }
+}
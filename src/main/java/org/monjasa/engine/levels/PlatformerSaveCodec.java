@@ -0,0 +1,270 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.core.serialization.Bundle;
+import com.almasb.fxgl.profile.DataFile;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+public class PlatformerSaveCodec {
+
+    static final int MAGIC = 0x504C5356;
+    static final int VERSION = 1;
+
+    private static final int LEGACY_VERSION = 0;
+    private static final int JAVA_SERIALIZATION_MAGIC = 0xACED;
+
+    private static final int WIRE_VARINT = 0;
+    private static final int WIRE_FIXED64 = 1;
+    private static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private static final String LEVEL_BUNDLE = "Level";
+    private static final String MEMENTO_BUNDLE = "Memento";
+    private static final String PERKS_BUNDLE = "Perks";
+
+    private static final int PERK_FIELD_ID = 8;
+
+    private enum SaveField {
+
+        LEVEL(1, LEVEL_BUNDLE, "level", WIRE_VARINT),
+        COINS_COLLECTED(2, MEMENTO_BUNDLE, "coinsCollected", WIRE_VARINT),
+        COINS_AVAILABLE(3, MEMENTO_BUNDLE, "coinsAvailable", WIRE_VARINT),
+        HP_VALUE(4, MEMENTO_BUNDLE, "EntityHPComponent.value", WIRE_VARINT),
+        HP_MAX_VALUE(5, MEMENTO_BUNDLE, "EntityHPComponent.maxValue", WIRE_VARINT),
+        POSITION_X(6, MEMENTO_BUNDLE, "position.x", WIRE_FIXED64),
+        POSITION_Y(7, MEMENTO_BUNDLE, "position.y", WIRE_FIXED64);
+
+        private static final Map<Integer, SaveField> fieldsById = new HashMap<>();
+        private static final Map<String, SaveField> fieldsByKey = new HashMap<>();
+
+        static {
+            for (SaveField field : values()) {
+                fieldsById.put(field.id, field);
+                fieldsByKey.put(field.bundleName + '/' + field.key, field);
+            }
+        }
+
+        private final int id;
+        private final String bundleName;
+        private final String key;
+        private final int wireType;
+
+        SaveField(int id, String bundleName, String key, int wireType) {
+            this.id = id;
+            this.bundleName = bundleName;
+            this.key = key;
+            this.wireType = wireType;
+        }
+    }
+
+    @FunctionalInterface
+    public interface SaveMigration {
+        void migrate(DataFile dataFile);
+    }
+
+    private Map<Integer, SaveMigration> migrations = new HashMap<>();
+
+    public void addMigration(int fromVersion, SaveMigration migration) {
+
+        if (fromVersion < LEGACY_VERSION || fromVersion >= VERSION)
+            throw new IllegalArgumentException("No save format to migrate from version " + fromVersion);
+
+        migrations.put(fromVersion, migration);
+    }
+
+    public byte[] encode(DataFile dataFile) throws IOException {
+
+        Map<String, Bundle> bundles = new HashMap<>();
+        bundles.put(LEVEL_BUNDLE, dataFile.getBundle(LEVEL_BUNDLE));
+        bundles.put(MEMENTO_BUNDLE, dataFile.getBundle(MEMENTO_BUNDLE));
+
+        for (Bundle bundle : bundles.values()) {
+            for (String key : bundle.getData().keySet()) {
+                if (!SaveField.fieldsByKey.containsKey(bundle.getName() + '/' + key))
+                    throw new IOException("Save field " + bundle.getName() + "." + key + " has no codec field id");
+            }
+        }
+
+        ByteArrayOutputStream encodedData = new ByteArrayOutputStream(64);
+        DataOutputStream outputStream = new DataOutputStream(encodedData);
+
+        outputStream.writeInt(MAGIC);
+        writeVarInt(outputStream, VERSION);
+
+        for (SaveField field : SaveField.values()) {
+
+            Bundle bundle = bundles.get(field.bundleName);
+            if (!bundle.exists(field.key)) continue;
+
+            writeVarInt(outputStream, field.id << 3 | field.wireType);
+
+            if (field.wireType == WIRE_FIXED64)
+                outputStream.writeLong(Double.doubleToLongBits(bundle.<Double>get(field.key)));
+            else
+                writeVarInt(outputStream, zigZag(bundle.<Integer>get(field.key)));
+        }
+
+        for (Map.Entry<String, Object> perkEntry : dataFile.getBundle(PERKS_BUNDLE).getData().entrySet()) {
+
+            byte[] perkName = perkEntry.getKey().getBytes(StandardCharsets.UTF_8);
+            int perkCount = (Integer) perkEntry.getValue();
+
+            writeVarInt(outputStream, PERK_FIELD_ID << 3 | WIRE_LENGTH_DELIMITED);
+            writeVarInt(outputStream, varIntSize(perkName.length) + perkName.length + varIntSize(perkCount));
+            writeVarInt(outputStream, perkName.length);
+            outputStream.write(perkName);
+            writeVarInt(outputStream, perkCount);
+        }
+
+        outputStream.flush();
+
+        return encodedData.toByteArray();
+    }
+
+    public DataFile decode(byte[] encodedData) throws IOException {
+
+        DataInputStream inputStream = new DataInputStream(new ByteArrayInputStream(encodedData));
+
+        if (encodedData.length >= 2 && ((encodedData[0] & 0xFF) << 8 | encodedData[1] & 0xFF) == JAVA_SERIALIZATION_MAGIC)
+            return migrate(decodeLegacy(inputStream), LEGACY_VERSION);
+
+        if (encodedData.length < 4 || inputStream.readInt() != MAGIC)
+            throw new IOException("Unknown save file format");
+
+        int version = readVarInt(inputStream);
+        if (version > VERSION) throw new IOException("Save file version " + version + " is newer than " + VERSION);
+
+        Map<String, Bundle> bundles = new HashMap<>();
+        bundles.put(LEVEL_BUNDLE, new Bundle(LEVEL_BUNDLE));
+        bundles.put(MEMENTO_BUNDLE, new Bundle(MEMENTO_BUNDLE));
+        bundles.put(PERKS_BUNDLE, new Bundle(PERKS_BUNDLE));
+
+        while (inputStream.available() > 0) {
+
+            int tag = readVarInt(inputStream);
+            int fieldId = tag >>> 3;
+            int wireType = tag & 0x7;
+
+            SaveField field = SaveField.fieldsById.get(fieldId);
+
+            if (field != null && field.wireType == wireType) {
+                Bundle bundle = bundles.get(field.bundleName);
+                if (wireType == WIRE_FIXED64)
+                    bundle.put(field.key, Double.longBitsToDouble(inputStream.readLong()));
+                else
+                    bundle.put(field.key, unZigZag(readVarInt(inputStream)));
+            } else if (fieldId == PERK_FIELD_ID && wireType == WIRE_LENGTH_DELIMITED) {
+                byte[] perkEntry = new byte[readLength(inputStream)];
+                inputStream.readFully(perkEntry);
+                readPerk(perkEntry, bundles.get(PERKS_BUNDLE));
+            } else {
+                skipField(inputStream, wireType);
+            }
+        }
+
+        DataFile dataFile = new DataFile();
+        bundles.values().forEach(dataFile::putBundle);
+
+        return migrate(dataFile, version);
+    }
+
+    public DataFile read(Path saveFile) throws IOException {
+        return decode(Files.readAllBytes(saveFile));
+    }
+
+    private DataFile migrate(DataFile dataFile, int version) {
+
+        for (int fromVersion = version; fromVersion < VERSION; fromVersion++) {
+            SaveMigration migration = migrations.get(fromVersion);
+            if (migration != null) migration.migrate(dataFile);
+        }
+
+        return dataFile;
+    }
+
+    private static DataFile decodeLegacy(InputStream inputStream) throws IOException {
+        try (ObjectInputStream objectInputStream = new ObjectInputStream(inputStream)) {
+            return (DataFile) objectInputStream.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Corrupted legacy save file", e);
+        }
+    }
+
+    private static void readPerk(byte[] perkEntry, Bundle perksBundle) throws IOException {
+
+        DataInputStream perkStream = new DataInputStream(new ByteArrayInputStream(perkEntry));
+
+        byte[] perkName = new byte[readLength(perkStream)];
+        perkStream.readFully(perkName);
+        perksBundle.put(new String(perkName, StandardCharsets.UTF_8), readVarInt(perkStream));
+
+        // bytes left in the entry belong to perk sub-fields added by newer versions
+    }
+
+    private static void skipField(DataInputStream inputStream, int wireType) throws IOException {
+        switch (wireType) {
+            case WIRE_VARINT:
+                readVarInt(inputStream);
+                break;
+            case WIRE_FIXED64:
+                inputStream.skipBytes(8);
+                break;
+            case WIRE_LENGTH_DELIMITED:
+                inputStream.skipBytes(readLength(inputStream));
+                break;
+            default:
+                throw new IOException("Unknown wire type " + wireType);
+        }
+    }
+
+    private static void writeVarInt(DataOutputStream outputStream, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            outputStream.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        outputStream.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream inputStream) throws IOException {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+            int nextByte = inputStream.readUnsignedByte();
+            value |= (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) return value;
+        }
+
+        throw new IOException("Malformed varint in save file");
+    }
+
+    private static int readLength(DataInputStream inputStream) throws IOException {
+
+        int length = readVarInt(inputStream);
+        if (length < 0 || length > inputStream.available())
+            throw new IOException("Malformed length " + length + " in save file");
+
+        return length;
+    }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int zigZag(int value) {
+        return value << 1 ^ value >> 31;
+    }
+
+    private static int unZigZag(int value) {
+        return value >>> 1 ^ -(value & 1);
+    }
+}
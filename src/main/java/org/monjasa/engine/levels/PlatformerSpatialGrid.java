@@ -0,0 +1,259 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.entity.Entity;
+import javafx.geometry.Point2D;
+import org.monjasa.engine.entities.PlatformerEntityType;
+
+import java.util.*;
+
+public class PlatformerSpatialGrid {
+
+    private double cellSize;
+    private int columns;
+    private int rows;
+
+    private List<GridEntry>[] cells;
+    private Map<Entity, GridEntry> entries;
+    private Map<PlatformerEntityType, List<Entity>> entitiesByType;
+
+    @SuppressWarnings("unchecked")
+    public PlatformerSpatialGrid(double cellSize, double width, double height) {
+        this.cellSize = cellSize;
+        this.columns = Math.max((int) Math.ceil(width / cellSize), 1);
+        this.rows = Math.max((int) Math.ceil(height / cellSize), 1);
+        this.cells = (List<GridEntry>[]) new List[columns * rows];
+        this.entries = new HashMap<>();
+        this.entitiesByType = new EnumMap<>(PlatformerEntityType.class);
+    }
+
+    public void insert(Entity entity) {
+
+        if (!(entity.getType() instanceof PlatformerEntityType) || entries.containsKey(entity)) return;
+
+        GridEntry entry = new GridEntry(entity);
+        entry.setCellRange(
+                toColumn(entity.getX()),
+                toRow(entity.getY()),
+                toColumn(entity.getX() + entity.getWidth()),
+                toRow(entity.getY() + entity.getHeight())
+        );
+
+        addToCells(entry);
+        entries.put(entity, entry);
+
+        entitiesByType.computeIfAbsent((PlatformerEntityType) entity.getType(), type -> new ArrayList<>()).add(entity);
+    }
+
+    public void remove(Entity entity) {
+
+        GridEntry entry = entries.remove(entity);
+        if (entry == null) return;
+
+        removeFromCells(entry);
+        entitiesByType.get((PlatformerEntityType) entity.getType()).remove(entity);
+    }
+
+    public void update(Entity entity) {
+
+        GridEntry entry = entries.get(entity);
+        if (entry == null) return;
+
+        if (!entity.isActive()) {
+            remove(entity);
+            return;
+        }
+
+        int entityMinCellX = toColumn(entity.getX());
+        int entityMinCellY = toRow(entity.getY());
+        int entityMaxCellX = toColumn(entity.getX() + entity.getWidth());
+        int entityMaxCellY = toRow(entity.getY() + entity.getHeight());
+
+        if (entry.hasCellRange(entityMinCellX, entityMinCellY, entityMaxCellX, entityMaxCellY)) return;
+
+        removeFromCells(entry);
+        entry.setCellRange(entityMinCellX, entityMinCellY, entityMaxCellX, entityMaxCellY);
+        addToCells(entry);
+    }
+
+    public void updateAll(PlatformerEntityType type) {
+
+        List<Entity> entities = getEntities(type);
+
+        // iterating backwards keeps the walk valid when update() removes an inactive entity
+        for (int i = entities.size() - 1; i >= 0; i--)
+            update(entities.get(i));
+    }
+
+    public List<Entity> getEntitiesInRect(double minX, double minY, double maxX, double maxY) {
+        List<Entity> result = new ArrayList<>();
+        getEntitiesInRect(minX, minY, maxX, maxY, result);
+        return result;
+    }
+
+    public void getEntitiesInRect(double minX, double minY, double maxX, double maxY, List<Entity> result) {
+
+        int rectMinCellX = toColumn(minX);
+        int rectMinCellY = toRow(minY);
+        int rectMaxCellX = toColumn(maxX);
+        int rectMaxCellY = toRow(maxY);
+
+        for (int cellX = rectMinCellX; cellX <= rectMaxCellX; cellX++) {
+            for (int cellY = rectMinCellY; cellY <= rectMaxCellY; cellY++) {
+
+                List<GridEntry> cellEntries = cells[cellY * columns + cellX];
+                if (cellEntries == null) continue;
+
+                for (int i = 0; i < cellEntries.size(); i++) {
+
+                    GridEntry entry = cellEntries.get(i);
+
+                    // an entity spanning several cells is reported only from the first cell the rect shares with it
+                    if (cellX != Math.max(entry.minCellX, rectMinCellX) || cellY != Math.max(entry.minCellY, rectMinCellY))
+                        continue;
+
+                    if (entry.entity.isActive() && intersects(entry.entity, minX, minY, maxX, maxY))
+                        result.add(entry.entity);
+                }
+            }
+        }
+    }
+
+    public List<Entity> getEntitiesNear(Entity entity, double distance) {
+
+        List<Entity> result = getEntitiesInRect(
+                entity.getX() - distance,
+                entity.getY() - distance,
+                entity.getX() + entity.getWidth() + distance,
+                entity.getY() + entity.getHeight() + distance
+        );
+
+        result.remove(entity);
+
+        return result;
+    }
+
+    public Optional<Entity> findNearest(PlatformerEntityType type, Point2D point) {
+
+        Entity nearestEntity = null;
+        double nearestDistance = Double.MAX_VALUE;
+
+        int originX = toColumn(point.getX());
+        int originY = toRow(point.getY());
+        int maxRadius = Math.max(Math.max(originX, columns - 1 - originX), Math.max(originY, rows - 1 - originY));
+
+        for (int radius = 0; radius <= maxRadius; radius++) {
+
+            if (nearestEntity != null && (radius - 1) * cellSize > Math.sqrt(nearestDistance)) break;
+
+            for (int cellX = Math.max(originX - radius, 0); cellX <= Math.min(originX + radius, columns - 1); cellX++) {
+                for (int cellY = Math.max(originY - radius, 0); cellY <= Math.min(originY + radius, rows - 1); cellY++) {
+
+                    if (Math.max(Math.abs(cellX - originX), Math.abs(cellY - originY)) != radius) continue;
+
+                    List<GridEntry> cellEntries = cells[cellY * columns + cellX];
+                    if (cellEntries == null) continue;
+
+                    for (int i = 0; i < cellEntries.size(); i++) {
+
+                        Entity entity = cellEntries.get(i).entity;
+                        if (!entity.isActive() || entity.getType() != type) continue;
+
+                        double distance = entity.getCenter().distance(point);
+                        if (distance * distance < nearestDistance) {
+                            nearestDistance = distance * distance;
+                            nearestEntity = entity;
+                        }
+                    }
+                }
+            }
+        }
+
+        return Optional.ofNullable(nearestEntity);
+    }
+
+    public List<Entity> getEntities(PlatformerEntityType type) {
+        return entitiesByType.getOrDefault(type, Collections.emptyList());
+    }
+
+    public Optional<Entity> getFirstEntity(PlatformerEntityType type) {
+        List<Entity> entities = getEntities(type);
+        return entities.isEmpty() ? Optional.empty() : Optional.of(entities.get(0));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+
+        for (List<GridEntry> cellEntries : cells)
+            if (cellEntries != null) cellEntries.clear();
+
+        entries.clear();
+        entitiesByType.clear();
+    }
+
+    private void addToCells(GridEntry entry) {
+        for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+            for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+
+                int cell = cellY * columns + cellX;
+                if (cells[cell] == null) cells[cell] = new ArrayList<>();
+
+                cells[cell].add(entry);
+            }
+        }
+    }
+
+    private void removeFromCells(GridEntry entry) {
+        for (int cellX = entry.minCellX; cellX <= entry.maxCellX; cellX++) {
+            for (int cellY = entry.minCellY; cellY <= entry.maxCellY; cellY++) {
+
+                List<GridEntry> cellEntries = cells[cellY * columns + cellX];
+                if (cellEntries != null) cellEntries.remove(entry);
+            }
+        }
+    }
+
+    // entities past the level bounds (falling players, off-screen spawns) are kept in the border cells
+    private int toColumn(double x) {
+        return Math.min(Math.max((int) Math.floor(x / cellSize), 0), columns - 1);
+    }
+
+    private int toRow(double y) {
+        return Math.min(Math.max((int) Math.floor(y / cellSize), 0), rows - 1);
+    }
+
+    private static boolean intersects(Entity entity, double minX, double minY, double maxX, double maxY) {
+        return entity.getX() <= maxX
+                && entity.getX() + entity.getWidth() >= minX
+                && entity.getY() <= maxY
+                && entity.getY() + entity.getHeight() >= minY;
+    }
+
+    private static class GridEntry {
+
+        private final Entity entity;
+
+        private int minCellX;
+        private int minCellY;
+        private int maxCellX;
+        private int maxCellY;
+
+        private GridEntry(Entity entity) {
+            this.entity = entity;
+        }
+
+        private boolean hasCellRange(int minCellX, int minCellY, int maxCellX, int maxCellY) {
+            return this.minCellX == minCellX && this.minCellY == minCellY
+                    && this.maxCellX == maxCellX && this.maxCellY == maxCellY;
+        }
+
+        private void setCellRange(int minCellX, int minCellY, int maxCellX, int maxCellY) {
+            this.minCellX = minCellX;
+            this.minCellY = minCellY;
+            this.maxCellX = maxCellX;
+            this.maxCellY = maxCellY;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.app.scene.Viewport;
+import com.almasb.fxgl.entity.Entity;
+import javafx.scene.Node;
+import org.monjasa.engine.entities.PlatformerEntityType;
+
+import java.util.*;
+
+public class PlatformerViewportCuller {
+
+    private static final Set<PlatformerEntityType> CULLED_TYPES = EnumSet.of(
+            PlatformerEntityType.PLATFORM,
+            PlatformerEntityType.COIN,
+            PlatformerEntityType.ENEMY,
+            PlatformerEntityType.CHECKPOINT,
+            PlatformerEntityType.EXIT
+    );
+
+    private double margin;
+
+    private PlatformerSpatialGrid spatialGrid;
+    private Map<Entity, CulledEntity> culledEntities;
+    private List<CulledEntity> visibleEntities;
+    private List<CulledEntity> nowVisibleEntities;
+    private List<CulledEntity> hiddenEntities;
+    private List<Entity> entitiesInRect;
+    private Deque<List<Node>> freeViewLists;
+
+    private long frame;
+
+    public PlatformerViewportCuller(double margin) {
+        this.margin = margin;
+        this.culledEntities = new HashMap<>();
+        this.visibleEntities = new ArrayList<>();
+        this.nowVisibleEntities = new ArrayList<>();
+        this.hiddenEntities = new ArrayList<>();
+        this.entitiesInRect = new ArrayList<>();
+        this.freeViewLists = new ArrayDeque<>();
+    }
+
+    public void cull(PlatformerSpatialGrid spatialGrid, Viewport viewport) {
+
+        if (this.spatialGrid != spatialGrid) {
+            reset();
+            this.spatialGrid = spatialGrid;
+            for (PlatformerEntityType type : CULLED_TYPES) {
+                List<Entity> entities = spatialGrid.getEntities(type);
+                for (int i = 0; i < entities.size(); i++) visibleEntities.add(getCulledEntity(entities.get(i)));
+            }
+        }
+
+        frame++;
+
+        spatialGrid.getEntitiesInRect(
+                viewport.getX() - margin,
+                viewport.getY() - margin,
+                viewport.getX() + viewport.getWidth() + margin,
+                viewport.getY() + viewport.getHeight() + margin,
+                entitiesInRect);
+
+        for (int i = 0; i < entitiesInRect.size(); i++) {
+
+            Entity entity = entitiesInRect.get(i);
+            if (!CULLED_TYPES.contains(entity.getType())) continue;
+
+            CulledEntity culledEntity = getCulledEntity(entity);
+            if (culledEntity.visibleFrame == frame) continue;
+
+            culledEntity.visibleFrame = frame;
+            nowVisibleEntities.add(culledEntity);
+
+            if (culledEntity.hiddenIndex >= 0) attachView(culledEntity);
+        }
+
+        entitiesInRect.clear();
+
+        for (int i = 0; i < visibleEntities.size(); i++) {
+
+            CulledEntity culledEntity = visibleEntities.get(i);
+            if (culledEntity.visibleFrame == frame) continue;
+
+            if (culledEntity.entity.isActive()) detachView(culledEntity);
+            else culledEntities.remove(culledEntity.entity);
+        }
+
+        for (int i = hiddenEntities.size() - 1; i >= 0; i--) {
+
+            CulledEntity culledEntity = hiddenEntities.get(i);
+            if (culledEntity.entity.isActive()) continue;
+
+            removeHidden(culledEntity);
+            recycle(culledEntity.views);
+            culledEntity.views = null;
+            culledEntities.remove(culledEntity.entity);
+        }
+
+        List<CulledEntity> previouslyVisibleEntities = visibleEntities;
+        visibleEntities = nowVisibleEntities;
+        nowVisibleEntities = previouslyVisibleEntities;
+        nowVisibleEntities.clear();
+    }
+
+    public void reset() {
+
+        for (int i = 0; i < hiddenEntities.size(); i++) {
+            CulledEntity culledEntity = hiddenEntities.get(i);
+            addViews(culledEntity.entity, culledEntity.views);
+            recycle(culledEntity.views);
+        }
+
+        culledEntities.clear();
+        visibleEntities.clear();
+        nowVisibleEntities.clear();
+        hiddenEntities.clear();
+        spatialGrid = null;
+    }
+
+    private CulledEntity getCulledEntity(Entity entity) {
+
+        CulledEntity culledEntity = culledEntities.get(entity);
+
+        if (culledEntity == null) {
+            culledEntity = new CulledEntity(entity);
+            culledEntities.put(entity, culledEntity);
+        }
+
+        return culledEntity;
+    }
+
+    private void attachView(CulledEntity culledEntity) {
+
+        removeHidden(culledEntity);
+
+        addViews(culledEntity.entity, culledEntity.views);
+        recycle(culledEntity.views);
+        culledEntity.views = null;
+    }
+
+    private void detachView(CulledEntity culledEntity) {
+
+        List<Node> entityViews = culledEntity.entity.getViewComponent().getChildren();
+        List<Node> views = freeViewLists.isEmpty() ? new ArrayList<>() : freeViewLists.pop();
+
+        for (int i = 0; i < entityViews.size(); i++) views.add(entityViews.get(i));
+        for (int i = 0; i < views.size(); i++) culledEntity.entity.getViewComponent().removeChild(views.get(i));
+
+        culledEntity.views = views;
+        culledEntity.hiddenIndex = hiddenEntities.size();
+        hiddenEntities.add(culledEntity);
+    }
+
+    private void removeHidden(CulledEntity culledEntity) {
+
+        CulledEntity lastHiddenEntity = hiddenEntities.remove(hiddenEntities.size() - 1);
+
+        if (lastHiddenEntity != culledEntity) {
+            hiddenEntities.set(culledEntity.hiddenIndex, lastHiddenEntity);
+            lastHiddenEntity.hiddenIndex = culledEntity.hiddenIndex;
+        }
+
+        culledEntity.hiddenIndex = -1;
+    }
+
+    private static void addViews(Entity entity, List<Node> views) {
+        for (int i = 0; i < views.size(); i++) entity.getViewComponent().addChild(views.get(i));
+    }
+
+    private void recycle(List<Node> views) {
+        views.clear();
+        freeViewLists.push(views);
+    }
+
+    public double getMargin() {
+        return margin;
+    }
+
+    public void setMargin(double margin) {
+        this.margin = margin;
+    }
+
+    public int getVisibleEntityCount() {
+        return visibleEntities.size();
+    }
+
+    public int getCulledEntityCount() {
+        return hiddenEntities.size();
+    }
+
+    private static class CulledEntity {
+
+        private final Entity entity;
+
+        private long visibleFrame;
+        private int hiddenIndex = -1;
+        private List<Node> views;
+
+        private CulledEntity(Entity entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -3,4 +3,6 @@ package org.monjasa.engine.levels.iterator;
 public interface Collection {
 
     LevelIterator createConsistentLevelIterator();
+
+    LevelIterator createPrefetchingLevelIterator(int lookahead);
 }
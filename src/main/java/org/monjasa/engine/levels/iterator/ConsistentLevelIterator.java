@@ -2,6 +2,7 @@ package org.monjasa.engine.levels.iterator;
 
 import com.almasb.fxgl.entity.level.Level;
 import org.monjasa.engine.entities.PlatformerEntityFactory;
+import org.monjasa.engine.levels.tmx.PlatformerTMXLevelData;
 
 import java.net.URL;
 import java.util.List;
@@ -11,30 +12,55 @@ public class ConsistentLevelIterator implements LevelIterator {
     private List<URL> levelURLs;
     private PlatformerEntityFactory entityFactories;
     private boolean isDevelopingNewLevel;
+    private LevelDataCache levelDataCache;
     private int pos;
 
-    public ConsistentLevelIterator(List<URL> levelURLs, PlatformerEntityFactory entityFactories, boolean isDevelopingNewLevel) {
+    public ConsistentLevelIterator(List<URL> levelURLs, PlatformerEntityFactory entityFactories,
+                                   boolean isDevelopingNewLevel, LevelDataCache levelDataCache) {
         this.levelURLs = levelURLs;
         this.entityFactories = entityFactories;
         this.isDevelopingNewLevel = isDevelopingNewLevel;
+        this.levelDataCache = levelDataCache;
         this.pos = 0;
     }
 
     @Override
     public Level getNext() {
         if (hasNext())
-            return entityFactories.createLevel(levelURLs.get(pos++), isDevelopingNewLevel);
+            return createLevel(levelURLs.get(pos++));
         else
             throw new RuntimeException("Out of bounds in Iterator");
     }
 
     @Override
     public Level getCurrent() {
-        return entityFactories.createLevel(levelURLs.get(pos), isDevelopingNewLevel);
+        return createLevel(levelURLs.get(pos));
     }
 
     @Override
     public boolean hasNext() {
         return pos < levelURLs.size();
     }
+
+    @Override
+    public void seek(int index) {
+        if (index < 0 || index > levelURLs.size())
+            throw new RuntimeException("Out of bounds in Iterator");
+        pos = index;
+    }
+
+    @Override
+    public LevelDataCache getLevelDataCache() {
+        return levelDataCache;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private Level createLevel(URL levelURL) {
+        PlatformerTMXLevelData levelData = levelDataCache.getOrLoad(levelURL,
+                () -> entityFactories.loadLevelData(levelURL, isDevelopingNewLevel));
+        return entityFactories.createLevel(levelURL, levelData);
+    }
 }
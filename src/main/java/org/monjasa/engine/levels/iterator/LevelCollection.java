@@ -10,15 +10,23 @@ public class LevelCollection implements Collection {
     private List<URL> levelURLs;
     private PlatformerEntityFactory entityFactories;
     private boolean isDevelopingNewLevel;
+    private LevelDataCache levelDataCache;
 
-    public LevelCollection(List<URL> levelURLs, PlatformerEntityFactory entityFactories, boolean isDevelopingNewLevel) {
+    public LevelCollection(List<URL> levelURLs, PlatformerEntityFactory entityFactories,
+                           boolean isDevelopingNewLevel, LevelDataCache levelDataCache) {
         this.levelURLs = levelURLs;
         this.entityFactories = entityFactories;
         this.isDevelopingNewLevel = isDevelopingNewLevel;
+        this.levelDataCache = levelDataCache;
     }
 
     @Override
     public LevelIterator createConsistentLevelIterator() {
-        return new ConsistentLevelIterator(levelURLs, entityFactories, isDevelopingNewLevel);
+        return new ConsistentLevelIterator(levelURLs, entityFactories, isDevelopingNewLevel, levelDataCache);
+    }
+
+    @Override
+    public LevelIterator createPrefetchingLevelIterator(int lookahead) {
+        return new PrefetchingLevelIterator(levelURLs, entityFactories, isDevelopingNewLevel, levelDataCache, lookahead);
     }
 }
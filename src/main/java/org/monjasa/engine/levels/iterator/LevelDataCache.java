@@ -0,0 +1,102 @@
+package org.monjasa.engine.levels.iterator;
+
+import org.monjasa.engine.levels.tmx.PlatformerTMXLevelData;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Supplier;
+
+public class LevelDataCache {
+
+    private long memoryBudget;
+    private long memoryUsed;
+
+    private LinkedHashMap<String, PlatformerTMXLevelData> cachedLevels;
+
+    private long hitCount;
+    private long missCount;
+
+    public LevelDataCache(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        this.cachedLevels = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public PlatformerTMXLevelData getOrLoad(URL levelURL, Supplier<PlatformerTMXLevelData> levelLoader) {
+
+        String levelKey = levelURL.toExternalForm();
+
+        synchronized (this) {
+            PlatformerTMXLevelData levelData = cachedLevels.get(levelKey);
+
+            if (levelData != null) {
+                hitCount++;
+                return levelData;
+            }
+
+            missCount++;
+        }
+
+        PlatformerTMXLevelData levelData = levelLoader.get();
+        put(levelURL, levelData);
+
+        return levelData;
+    }
+
+    public synchronized void put(URL levelURL, PlatformerTMXLevelData levelData) {
+
+        PlatformerTMXLevelData replacedLevel = cachedLevels.put(levelURL.toExternalForm(), levelData);
+        if (replacedLevel != null && replacedLevel != levelData) {
+            memoryUsed -= replacedLevel.getEstimatedSize();
+            replacedLevel.release();
+        }
+
+        memoryUsed += levelData.getEstimatedSize();
+
+        Iterator<PlatformerTMXLevelData> eldestLevels = cachedLevels.values().iterator();
+        while (memoryUsed > memoryBudget && cachedLevels.size() > 1) {
+            PlatformerTMXLevelData eldestLevel = eldestLevels.next();
+            eldestLevels.remove();
+
+            memoryUsed -= eldestLevel.getEstimatedSize();
+            eldestLevel.release();
+        }
+    }
+
+    public synchronized void clear() {
+        cachedLevels.values().forEach(PlatformerTMXLevelData::release);
+        cachedLevels.clear();
+        memoryUsed = 0;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getMemoryUsed() {
+        return memoryUsed;
+    }
+
+    public synchronized int size() {
+        return cachedLevels.size();
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "LevelDataCache{" +
+                "levels=" + cachedLevels.size() +
+                ", memoryUsed=" + memoryUsed +
+                ", memoryBudget=" + memoryBudget +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                '}';
+    }
+}
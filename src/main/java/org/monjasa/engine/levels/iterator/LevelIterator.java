@@ -9,4 +9,10 @@ public interface LevelIterator {
     Level getCurrent();
 
     boolean hasNext();
+
+    void seek(int index);
+
+    LevelDataCache getLevelDataCache();
+
+    void close();
 }
@@ -0,0 +1,147 @@
+package org.monjasa.engine.levels.iterator;
+
+import com.almasb.fxgl.entity.level.Level;
+import org.monjasa.engine.entities.PlatformerEntityFactory;
+import org.monjasa.engine.levels.tmx.PlatformerTMXLevelData;
+
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+public class PrefetchingLevelIterator implements LevelIterator {
+
+    private List<URL> levelURLs;
+    private PlatformerEntityFactory entityFactories;
+    private boolean isDevelopingNewLevel;
+    private LevelDataCache levelDataCache;
+    private int lookahead;
+    private int pos;
+
+    private ExecutorService prefetchExecutor;
+    private Map<Integer, Future<PlatformerTMXLevelData>> prefetchedLevels;
+    private boolean closed;
+
+    public PrefetchingLevelIterator(List<URL> levelURLs, PlatformerEntityFactory entityFactories,
+                                    boolean isDevelopingNewLevel, LevelDataCache levelDataCache, int lookahead) {
+
+        this.levelURLs = levelURLs;
+        this.entityFactories = entityFactories;
+        this.isDevelopingNewLevel = isDevelopingNewLevel;
+        this.levelDataCache = levelDataCache;
+        this.lookahead = Math.max(lookahead, 1);
+        this.pos = 0;
+
+        prefetchExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "level-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        prefetchedLevels = new HashMap<>();
+
+        prefetchUpcomingLevels();
+    }
+
+    @Override
+    public Level getNext() {
+
+        if (!hasNext()) throw new RuntimeException("Out of bounds in Iterator");
+
+        int levelIndex = pos++;
+        PlatformerTMXLevelData levelData = takeLevelData(levelIndex);
+
+        prefetchUpcomingLevels();
+
+        return entityFactories.createLevel(levelURLs.get(levelIndex), levelData);
+    }
+
+    @Override
+    public Level getCurrent() {
+
+        Future<PlatformerTMXLevelData> prefetchedLevel = prefetchedLevels.get(pos);
+        PlatformerTMXLevelData levelData = prefetchedLevel != null
+                ? awaitLevelData(pos, prefetchedLevel)
+                : loadLevelData(levelURLs.get(pos));
+
+        return entityFactories.createLevel(levelURLs.get(pos), levelData);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return pos < levelURLs.size();
+    }
+
+    @Override
+    public void seek(int index) {
+
+        if (index < 0 || index > levelURLs.size()) throw new RuntimeException("Out of bounds in Iterator");
+
+        pos = index;
+        prefetchUpcomingLevels();
+    }
+
+    @Override
+    public LevelDataCache getLevelDataCache() {
+        return levelDataCache;
+    }
+
+    @Override
+    public void close() {
+
+        closed = true;
+
+        prefetchedLevels.values().forEach(prefetchedLevel -> prefetchedLevel.cancel(true));
+        prefetchedLevels.clear();
+
+        prefetchExecutor.shutdownNow();
+    }
+
+    private PlatformerTMXLevelData takeLevelData(int levelIndex) {
+
+        Future<PlatformerTMXLevelData> prefetchedLevel = prefetchedLevels.remove(levelIndex);
+
+        if (prefetchedLevel == null)
+            return loadLevelData(levelURLs.get(levelIndex));
+
+        return awaitLevelData(levelIndex, prefetchedLevel);
+    }
+
+    private PlatformerTMXLevelData awaitLevelData(int levelIndex, Future<PlatformerTMXLevelData> prefetchedLevel) {
+
+        try {
+            return prefetchedLevel.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | CancellationException e) {
+            e.printStackTrace();
+        }
+
+        return loadLevelData(levelURLs.get(levelIndex));
+    }
+
+    private void prefetchUpcomingLevels() {
+
+        if (closed) return;
+
+        prefetchedLevels.entrySet().removeIf(prefetchedLevel -> {
+            if (prefetchedLevel.getKey() >= pos && prefetchedLevel.getKey() < pos + lookahead) return false;
+            prefetchedLevel.getValue().cancel(true);
+            return true;
+        });
+
+        for (int levelIndex = pos; levelIndex < Math.min(pos + lookahead, levelURLs.size()); levelIndex++) {
+
+            if (prefetchedLevels.containsKey(levelIndex)) continue;
+
+            URL levelURL = levelURLs.get(levelIndex);
+            prefetchedLevels.put(levelIndex, prefetchExecutor.submit(
+                    () -> loadLevelData(levelURL)));
+        }
+    }
+
+    private PlatformerTMXLevelData loadLevelData(URL levelURL) {
+        return levelDataCache.getOrLoad(levelURL, () -> entityFactories.loadLevelData(levelURL, isDevelopingNewLevel));
+    }
+}
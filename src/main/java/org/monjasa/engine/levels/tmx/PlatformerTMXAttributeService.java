@@ -4,6 +4,7 @@ import javafx.scene.paint.Color;
 import org.joou.UInteger;
 
 import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.stream.events.Attribute;
 import javax.xml.stream.events.StartElement;
 
@@ -12,11 +13,16 @@ class PlatformerTMXAttributeService {
     private static String EMPTY_ATTRIBUTE = "";
 
     private StartElement startElement;
+    private XMLStreamReader streamReader;
 
     PlatformerTMXAttributeService(StartElement startElement) {
         this.startElement = startElement;
     }
 
+    PlatformerTMXAttributeService(XMLStreamReader streamReader) {
+        this.streamReader = streamReader;
+    }
+
     Color getColorAttribute(String attributeName) {
         return Color.web(getStringAttribute(attributeName));
     }
@@ -28,7 +34,7 @@ class PlatformerTMXAttributeService {
     float getFloatAttribute(String attributeName) {
         String attributeValue = getStringAttribute(attributeName);
         if (attributeValue.equals(EMPTY_ATTRIBUTE)) return 0.0f;
-        else return Float.parseFloat(getStringAttribute(attributeName));
+        else return Float.parseFloat(attributeValue);
     }
 
     int getIntAttribute(String attributeName) {
@@ -46,6 +52,15 @@ class PlatformerTMXAttributeService {
     }
 
     String getStringAttribute(String attributeName) {
+
+        if (streamReader != null) {
+            for (int i = 0, count = streamReader.getAttributeCount(); i < count; i++) {
+                if (attributeName.equals(streamReader.getAttributeLocalName(i)))
+                    return streamReader.getAttributeValue(i);
+            }
+            return EMPTY_ATTRIBUTE;
+        }
+
         Attribute attribute = startElement.getAttributeByName(new QName(attributeName));
         if (attribute != null) return attribute.getValue();
         else return EMPTY_ATTRIBUTE;
@@ -0,0 +1,308 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.*;
+import javafx.scene.paint.Color;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import static org.monjasa.engine.levels.tmx.PlatformerTMXObjectType.*;
+
+class PlatformerTMXBinaryReader {
+
+    static final String EXTENSION = ".wosl";
+
+    static final int MAGIC = 0x574F534C;
+    static final short VERSION = 2;
+
+    static final byte TILE_LAYER_TAG = 0;
+    static final byte OBJECT_GROUP_TAG = 1;
+
+    static final int FLIPPED_HORIZONTALLY_FLAG = 1;
+    static final int FLIPPED_VERTICALLY_FLAG = 1 << 1;
+
+    private ByteBuffer buffer;
+
+    TiledMap read(URL url) throws IOException {
+
+        buffer = mapLevel(url);
+
+        try {
+            return readLevel(url);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated compiled level: " + url, e);
+        } finally {
+            buffer = null;
+        }
+    }
+
+    static boolean isCompiledFrom(URL compiledLevelURL, URL levelURL) {
+
+        try (DataInputStream inputStream = new DataInputStream(new BufferedInputStream(compiledLevelURL.openStream()));
+             InputStream levelStream = levelURL.openStream()) {
+
+            if (inputStream.readInt() != MAGIC || inputStream.readShort() != VERSION) return false;
+
+            long sourceLength = inputStream.readLong();
+            long sourceChecksum = inputStream.readInt() & 0xFFFFFFFFL;
+
+            CRC32 checksum = new CRC32();
+            long length = 0;
+
+            byte[] chunk = new byte[8192];
+            int read;
+
+            while ((read = levelStream.read(chunk)) != -1) {
+                checksum.update(chunk, 0, read);
+                length += read;
+            }
+
+            return length == sourceLength && checksum.getValue() == sourceChecksum;
+
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private TiledMap readLevel(URL url) throws IOException {
+
+        if (buffer.getInt() != MAGIC) throw new IOException("Not a compiled level: " + url);
+
+        short version = buffer.getShort();
+        if (version != VERSION) throw new IOException("Unsupported compiled level version " + version + ": " + url);
+
+        // source length and checksum, checked by isCompiledFrom before a compiled level is chosen
+        buffer.getLong();
+        buffer.getInt();
+
+        TiledMap map = new TiledMap();
+        readMap(map);
+
+        int tilesetCount = readCount();
+        ArrayList<Tileset> tilesets = new ArrayList<>(tilesetCount);
+        for (int i = 0; i < tilesetCount; i++) tilesets.add(readTileset());
+
+        int layerCount = readCount();
+        ArrayList<Layer> layers = new ArrayList<>(layerCount);
+        for (int i = 0; i < layerCount; i++) layers.add(readLayer());
+
+        map.setLayers(layers);
+        map.setTilesets(tilesets);
+
+        return map;
+    }
+
+    private ByteBuffer mapLevel(URL url) throws IOException {
+
+        if (url.getProtocol().equals("file")) {
+            try (FileChannel channel = FileChannel.open(Paths.get(url.toURI()), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+
+        try (InputStream inputStream = url.openStream()) {
+            return ByteBuffer.wrap(inputStream.readAllBytes());
+        }
+    }
+
+    private void readMap(TiledMap map) throws IOException {
+
+        map.setType(MAP.getValue());
+        map.setVersion(1);
+
+        map.setWidth(buffer.getInt());
+        map.setHeight(buffer.getInt());
+        map.setTilewidth(buffer.getInt());
+        map.setTileheight(buffer.getInt());
+        map.setNextobjectid(buffer.getInt());
+        map.setInfinite(buffer.get() != 0);
+
+        map.setBackgroundcolor(readString());
+        map.setOrientation(readString());
+        map.setRenderorder(readString());
+        map.setTiledversion(readString());
+
+        readProperties(map.getProperties(), map.getPropertytypes());
+    }
+
+    private Tileset readTileset() throws IOException {
+
+        Tileset tileset = new Tileset();
+
+        tileset.setFirstgid(buffer.getInt());
+        tileset.setName(readString());
+        tileset.setTilewidth(buffer.getInt());
+        tileset.setTileheight(buffer.getInt());
+        tileset.setSpacing(buffer.getInt());
+        tileset.setTilecount(buffer.getInt());
+        tileset.setColumns(buffer.getInt());
+
+        tileset.setImage(readString());
+        tileset.setImagewidth(buffer.getInt());
+        tileset.setImageheight(buffer.getInt());
+        tileset.setTransparentcolor(readString());
+
+        int tileCount = readCount();
+        for (int i = 0; i < tileCount; i++) {
+            Tile tile = new Tile();
+            tile.setId(buffer.getInt());
+            tile.setImage(readString());
+            tile.setImagewidth(buffer.getInt());
+            tile.setImageheight(buffer.getInt());
+            tile.setTransparentcolor(readString());
+            tileset.getTiles().add(tile);
+        }
+
+        return tileset;
+    }
+
+    private Layer readLayer() throws IOException {
+
+        Layer layer = new Layer();
+
+        byte layerTag = buffer.get();
+        layer.setName(readString());
+
+        switch (layerTag) {
+            case TILE_LAYER_TAG:
+                layer.setType(TILE_LAYER.getValue());
+                layer.setWidth(buffer.getInt());
+                layer.setHeight(buffer.getInt());
+                layer.setOpacity(buffer.getFloat());
+                layer.setVisible(buffer.get() != 0);
+                layer.setData(new PlatformerTMXTileData(readTiles(layer.getWidth() * layer.getHeight())));
+                break;
+            case OBJECT_GROUP_TAG:
+                layer.setType(OBJECT_GROUP.getValue());
+                int objectCount = readCount();
+                for (int i = 0; i < objectCount; i++) layer.getObjects().add(readObject());
+                break;
+            default:
+                throw new IOException("Unknown layer tag: " + layerTag);
+        }
+
+        return layer;
+    }
+
+    private int[] readTiles(int layerSize) throws IOException {
+
+        int tileCount = buffer.getInt();
+        if (tileCount != layerSize) throw new IOException("Tile count " + tileCount + " does not match layer size " + layerSize);
+
+        int[] tiles = new int[tileCount];
+        int runCount = readCount();
+
+        int tileIndex = 0;
+        for (int i = 0; i < runCount; i++) {
+
+            int runLength = buffer.getInt();
+            int tile = buffer.getInt();
+
+            if (runLength <= 0 || runLength > tiles.length - tileIndex) throw new IOException("Tile run exceeds layer size");
+
+            Arrays.fill(tiles, tileIndex, tileIndex + runLength, tile);
+            tileIndex += runLength;
+        }
+
+        if (tileIndex != tiles.length) throw new IOException("Tile runs do not cover the layer");
+
+        return tiles;
+    }
+
+    private TiledObject readObject() throws IOException {
+
+        TiledObject tiledObject = new TiledObject();
+
+        tiledObject.setId(buffer.getInt());
+        tiledObject.setName(readString());
+        tiledObject.setType(readString());
+        tiledObject.setX(buffer.getInt());
+        tiledObject.setY(buffer.getInt());
+        tiledObject.setWidth(buffer.getInt());
+        tiledObject.setHeight(buffer.getInt());
+        tiledObject.setRotation(buffer.getFloat());
+        tiledObject.setGid(buffer.getInt());
+
+        byte flipFlags = buffer.get();
+        tiledObject.setFlippedHorizontal((flipFlags & FLIPPED_HORIZONTALLY_FLAG) != 0);
+        tiledObject.setFlippedVertical((flipFlags & FLIPPED_VERTICALLY_FLAG) != 0);
+
+        readProperties(tiledObject.getProperties(), tiledObject.getPropertytypes());
+
+        return tiledObject;
+    }
+
+    private void readProperties(Map<String, Object> properties, Map<String, String> propertyTypes) throws IOException {
+
+        int propertyCount = readCount();
+
+        for (int i = 0; i < propertyCount; i++) {
+
+            String propName = readString();
+            String propType = readString();
+
+            propertyTypes.put(propName, propType);
+
+            switch (propType) {
+                case "int":
+                    properties.put(propName, buffer.getInt());
+                    break;
+                case "bool":
+                    properties.put(propName, buffer.get() != 0);
+                    break;
+                case "float":
+                    properties.put(propName, buffer.getFloat());
+                    break;
+                case "string":
+                case "":
+                    properties.put(propName, readString());
+                    break;
+                case "color":
+                    properties.put(propName, Color.web(readString()));
+                    break;
+                default:
+                    throw new IOException("Unsupported property type: " + propType);
+            }
+        }
+    }
+
+    private String readString() throws IOException {
+
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining())
+            throw new IOException("Malformed string length " + length + " in compiled level");
+
+        if (length == 0) return "";
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readCount() throws IOException {
+
+        // every counted element takes at least one byte, so a larger count can only come from a corrupt file
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining())
+            throw new IOException("Malformed element count " + count + " in compiled level");
+
+        return count;
+    }
+}
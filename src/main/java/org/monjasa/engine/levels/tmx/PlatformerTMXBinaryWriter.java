@@ -0,0 +1,184 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.*;
+import javafx.scene.paint.Color;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.monjasa.engine.levels.tmx.PlatformerTMXBinaryReader.*;
+
+class PlatformerTMXBinaryWriter {
+
+    private DataOutputStream outputStream;
+
+    PlatformerTMXBinaryWriter(OutputStream outputStream) {
+        this.outputStream = new DataOutputStream(outputStream);
+    }
+
+    void write(TiledMap map, long sourceLength, long sourceChecksum) throws IOException {
+
+        outputStream.writeInt(MAGIC);
+        outputStream.writeShort(VERSION);
+        outputStream.writeLong(sourceLength);
+        outputStream.writeInt((int) sourceChecksum);
+
+        writeMap(map);
+
+        outputStream.writeInt(map.getTilesets().size());
+        for (Tileset tileset : map.getTilesets()) writeTileset(tileset);
+
+        outputStream.writeInt(map.getLayers().size());
+        for (Layer layer : map.getLayers()) writeLayer(layer);
+
+        outputStream.flush();
+    }
+
+    private void writeMap(TiledMap map) throws IOException {
+
+        outputStream.writeInt(map.getWidth());
+        outputStream.writeInt(map.getHeight());
+        outputStream.writeInt(map.getTilewidth());
+        outputStream.writeInt(map.getTileheight());
+        outputStream.writeInt(map.getNextobjectid());
+        outputStream.writeBoolean(map.getInfinite());
+
+        writeString(map.getBackgroundcolor());
+        writeString(map.getOrientation());
+        writeString(map.getRenderorder());
+        writeString(map.getTiledversion());
+
+        writeProperties(map.getProperties(), map.getPropertytypes());
+    }
+
+    private void writeTileset(Tileset tileset) throws IOException {
+
+        outputStream.writeInt(tileset.getFirstgid());
+        writeString(tileset.getName());
+        outputStream.writeInt(tileset.getTilewidth());
+        outputStream.writeInt(tileset.getTileheight());
+        outputStream.writeInt(tileset.getSpacing());
+        outputStream.writeInt(tileset.getTilecount());
+        outputStream.writeInt(tileset.getColumns());
+
+        writeString(tileset.getImage());
+        outputStream.writeInt(tileset.getImagewidth());
+        outputStream.writeInt(tileset.getImageheight());
+        writeString(tileset.getTransparentcolor());
+
+        outputStream.writeInt(tileset.getTiles().size());
+        for (Tile tile : tileset.getTiles()) {
+            outputStream.writeInt(tile.getId());
+            writeString(tile.getImage());
+            outputStream.writeInt(tile.getImagewidth());
+            outputStream.writeInt(tile.getImageheight());
+            writeString(tile.getTransparentcolor());
+        }
+    }
+
+    private void writeLayer(Layer layer) throws IOException {
+
+        boolean isTileLayer = layer.getType().equals(PlatformerTMXObjectType.TILE_LAYER.getValue());
+
+        outputStream.writeByte(isTileLayer ? TILE_LAYER_TAG : OBJECT_GROUP_TAG);
+        writeString(layer.getName());
+
+        if (isTileLayer) {
+            outputStream.writeInt(layer.getWidth());
+            outputStream.writeInt(layer.getHeight());
+            outputStream.writeFloat(layer.getOpacity());
+            outputStream.writeBoolean(layer.isVisible());
+            writeTiles(layer.getData());
+        } else {
+            outputStream.writeInt(layer.getObjects().size());
+            for (TiledObject tiledObject : layer.getObjects()) writeObject(tiledObject);
+        }
+    }
+
+    private void writeTiles(List<Integer> data) throws IOException {
+
+        int[] tiles = data instanceof PlatformerTMXTileData
+                ? ((PlatformerTMXTileData) data).getTiles()
+                : data.stream().mapToInt(Integer::intValue).toArray();
+
+        int runCount = 0;
+        for (int i = 0; i < tiles.length; i++) {
+            if (i == 0 || tiles[i] != tiles[i - 1]) runCount++;
+        }
+
+        outputStream.writeInt(tiles.length);
+        outputStream.writeInt(runCount);
+
+        int runStart = 0;
+        for (int i = 1; i <= tiles.length; i++) {
+            if (i == tiles.length || tiles[i] != tiles[runStart]) {
+                outputStream.writeInt(i - runStart);
+                outputStream.writeInt(tiles[runStart]);
+                runStart = i;
+            }
+        }
+    }
+
+    private void writeObject(TiledObject tiledObject) throws IOException {
+
+        outputStream.writeInt(tiledObject.getId());
+        writeString(tiledObject.getName());
+        writeString(tiledObject.getType());
+        outputStream.writeInt(tiledObject.getX());
+        outputStream.writeInt(tiledObject.getY());
+        outputStream.writeInt(tiledObject.getWidth());
+        outputStream.writeInt(tiledObject.getHeight());
+        outputStream.writeFloat(tiledObject.getRotation());
+        outputStream.writeInt(tiledObject.getGid());
+
+        int flipFlags = (tiledObject.isFlippedHorizontal() ? FLIPPED_HORIZONTALLY_FLAG : 0)
+                | (tiledObject.isFlippedVertical() ? FLIPPED_VERTICALLY_FLAG : 0);
+        outputStream.writeByte(flipFlags);
+
+        writeProperties(tiledObject.getProperties(), tiledObject.getPropertytypes());
+    }
+
+    private void writeProperties(Map<String, Object> properties, Map<String, String> propertyTypes) throws IOException {
+
+        outputStream.writeInt(properties.size());
+
+        for (Map.Entry<String, Object> property : properties.entrySet()) {
+
+            String propType = propertyTypes.getOrDefault(property.getKey(), "");
+
+            writeString(property.getKey());
+            writeString(propType);
+
+            switch (propType) {
+                case "int":
+                    outputStream.writeInt((Integer) property.getValue());
+                    break;
+                case "bool":
+                    outputStream.writeBoolean((Boolean) property.getValue());
+                    break;
+                case "float":
+                    outputStream.writeFloat((Float) property.getValue());
+                    break;
+                case "string":
+                case "":
+                    writeString((String) property.getValue());
+                    break;
+                case "color":
+                    writeString(((Color) property.getValue()).toString());
+                    break;
+                default:
+                    throw new IOException("Unsupported property type: " + propType);
+            }
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+}
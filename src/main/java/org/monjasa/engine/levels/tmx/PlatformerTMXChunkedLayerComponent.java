@@ -0,0 +1,72 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.app.scene.Viewport;
+import com.almasb.fxgl.entity.component.Component;
+import javafx.scene.image.ImageView;
+
+import java.util.List;
+
+import static com.almasb.fxgl.dsl.FXGL.getGameScene;
+
+public class PlatformerTMXChunkedLayerComponent extends Component {
+
+    private List<ImageView> chunkViews;
+    private boolean[] attachedChunks;
+
+    private int attachedChunkCount;
+
+    PlatformerTMXChunkedLayerComponent(List<ImageView> chunkViews) {
+        this.chunkViews = chunkViews;
+        this.attachedChunks = new boolean[chunkViews.size()];
+    }
+
+    @Override
+    public void onAdded() {
+        updateAttachedChunks();
+    }
+
+    @Override
+    public void onUpdate(double tpf) {
+        updateAttachedChunks();
+    }
+
+    private void updateAttachedChunks() {
+
+        Viewport viewport = getGameScene().getViewport();
+
+        double minX = viewport.getX() - entity.getX();
+        double minY = viewport.getY() - entity.getY();
+        double maxX = minX + viewport.getWidth();
+        double maxY = minY + viewport.getHeight();
+
+        for (int i = 0; i < chunkViews.size(); i++) {
+
+            ImageView chunkView = chunkViews.get(i);
+
+            boolean isVisible = chunkView.getTranslateX() < maxX
+                    && chunkView.getTranslateX() + chunkView.getImage().getWidth() > minX
+                    && chunkView.getTranslateY() < maxY
+                    && chunkView.getTranslateY() + chunkView.getImage().getHeight() > minY;
+
+            if (isVisible == attachedChunks[i]) continue;
+
+            if (isVisible) {
+                entity.getViewComponent().addChild(chunkView);
+                attachedChunkCount++;
+            } else {
+                entity.getViewComponent().removeChild(chunkView);
+                attachedChunkCount--;
+            }
+
+            attachedChunks[i] = isVisible;
+        }
+    }
+
+    public int getChunkCount() {
+        return chunkViews.size();
+    }
+
+    public int getAttachedChunkCount() {
+        return attachedChunkCount;
+    }
+}
@@ -0,0 +1,161 @@
+package org.monjasa.engine.levels.tmx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+class PlatformerTMXDataDecoder {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MAX_UNSIGNED_TILE = 0xFFFFFFFFL;
+
+    private PlatformerTMXDataDecoder() {
+    }
+
+    static int[] decodeCsv(CharSequence data, int tileCount) throws IOException {
+
+        int[] tiles = new int[tileCount];
+
+        int tileIndex = 0;
+        long currentTile = 0;
+        boolean readingTile = false;
+        boolean tileFinished = false;
+        boolean separatorPending = false;
+
+        for (int i = 0, length = data.length(); i < length; i++) {
+
+            char symbol = data.charAt(i);
+
+            if (symbol >= '0' && symbol <= '9') {
+                if (tileFinished)
+                    throw new IOException("Missing separator before position " + i);
+
+                currentTile = currentTile * 10 + (symbol - '0');
+                readingTile = true;
+                separatorPending = false;
+
+                if (currentTile > MAX_UNSIGNED_TILE)
+                    throw new IOException("Tile gid is out of range at position " + i);
+
+            } else if (symbol == ',') {
+                if (!readingTile)
+                    throw new IOException("Empty tile value at position " + i);
+
+                tileIndex = putTile(tiles, tileIndex, currentTile);
+                currentTile = 0;
+                readingTile = false;
+                tileFinished = false;
+                separatorPending = true;
+
+            } else if (Character.isWhitespace(symbol)) {
+                if (readingTile) tileFinished = true;
+
+            } else {
+                throw new IOException("Unexpected character '" + symbol + "' at position " + i);
+            }
+        }
+
+        if (readingTile) tileIndex = putTile(tiles, tileIndex, currentTile);
+        else if (separatorPending) throw new IOException("Tile layer data ends with a separator");
+
+        if (tileIndex != tileCount)
+            throw new IOException("Tile layer data is shorter than " + tileCount + " tiles");
+
+        return tiles;
+    }
+
+    private static int putTile(int[] tiles, int tileIndex, long tile) throws IOException {
+
+        if (tileIndex == tiles.length)
+            throw new IOException("Tile layer data is longer than " + tiles.length + " tiles");
+
+        tiles[tileIndex] = (int) tile;
+        return tileIndex + 1;
+    }
+
+    static int[] decodeBase64(CharSequence data, String compression, int tileCount) throws IOException {
+
+        InputStream base64Stream = Base64.getMimeDecoder().wrap(new CharSequenceInputStream(data));
+
+        switch (compression) {
+            case "":
+                return readLittleEndianInts(base64Stream, tileCount);
+            case "zlib":
+                try (InputStream inflaterStream = new InflaterInputStream(base64Stream)) {
+                    return readLittleEndianInts(inflaterStream, tileCount);
+                }
+            case "gzip":
+                try (InputStream inflaterStream = new GZIPInputStream(base64Stream, BUFFER_SIZE)) {
+                    return readLittleEndianInts(inflaterStream, tileCount);
+                }
+            case "zstd":
+                throw new IOException("zstd compression is not supported, export the layer with zlib or gzip");
+            default:
+                throw new IOException("Unknown tile layer compression: " + compression);
+        }
+    }
+
+    private static int[] readLittleEndianInts(InputStream inputStream, int tileCount) throws IOException {
+
+        int[] tiles = new int[tileCount];
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        int tileIndex = 0;
+        int currentTile = 0;
+        int byteShift = 0;
+
+        int bytesRead;
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            for (int i = 0; i < bytesRead; i++) {
+
+                currentTile |= (buffer[i] & 0xFF) << byteShift;
+                byteShift += 8;
+
+                if (byteShift == 32) {
+                    if (tileIndex == tileCount)
+                        throw new IOException("Tile layer data is longer than " + tileCount + " tiles");
+
+                    tiles[tileIndex++] = currentTile;
+                    currentTile = 0;
+                    byteShift = 0;
+                }
+            }
+        }
+
+        if (tileIndex != tileCount || byteShift != 0)
+            throw new IOException("Tile layer data is shorter than " + tileCount + " tiles");
+
+        return tiles;
+    }
+
+    private static class CharSequenceInputStream extends InputStream {
+
+        private CharSequence data;
+        private int position;
+
+        CharSequenceInputStream(CharSequence data) {
+            this.data = data;
+            this.position = 0;
+        }
+
+        @Override
+        public int read() {
+            return position < data.length() ? data.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+
+            if (length == 0) return 0;
+            if (position >= data.length()) return -1;
+
+            int count = Math.min(length, data.length() - position);
+            for (int i = 0; i < count; i++)
+                bytes[offset + i] = (byte) data.charAt(position++);
+
+            return count;
+        }
+    }
+}
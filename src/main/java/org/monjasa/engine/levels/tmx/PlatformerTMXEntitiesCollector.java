@@ -5,7 +5,6 @@ import com.almasb.fxgl.entity.GameWorld;
 import com.almasb.fxgl.entity.SpawnData;
 import com.almasb.fxgl.entity.components.IDComponent;
 import com.almasb.fxgl.entity.level.tiled.TiledMap;
-import com.almasb.fxgl.entity.level.tiled.TilesetLoader;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -13,13 +12,16 @@ import java.util.stream.Collectors;
 class PlatformerTMXEntitiesCollector {
 
     private TiledMap tiledMap;
-    private TilesetLoader tilesetLoader;
+    private PlatformerTMXTilesetLoader tilesetLoader;
     private GameWorld gameWorld;
+    private int tileLayerChunkSize;
 
-    PlatformerTMXEntitiesCollector(TiledMap tiledMap, TilesetLoader tilesetLoader, GameWorld gameWorld) {
+    PlatformerTMXEntitiesCollector(TiledMap tiledMap, PlatformerTMXTilesetLoader tilesetLoader,
+                                   GameWorld gameWorld, int tileLayerChunkSize) {
         this.tiledMap = tiledMap;
         this.tilesetLoader = tilesetLoader;
         this.gameWorld = gameWorld;
+        this.tileLayerChunkSize = tileLayerChunkSize;
     }
 
     List<Entity> collectTileLayerEntities() {
@@ -28,7 +30,14 @@ class PlatformerTMXEntitiesCollector {
                 .filter(layer -> layer.getType().equals("tilelayer"))
                 .map(layer -> {
                     Entity layerEntity = new Entity();
-                    layerEntity.getViewComponent().addChild(tilesetLoader.loadView(layer.getName()));
+
+                    if (tileLayerChunkSize > 0) {
+                        layerEntity.addComponent(new PlatformerTMXChunkedLayerComponent(
+                                tilesetLoader.loadChunkViews(layer.getName(), tileLayerChunkSize)));
+                    } else {
+                        layerEntity.getViewComponent().addChild(tilesetLoader.loadView(layer.getName()));
+                    }
+
                     return layerEntity;
                 }).collect(Collectors.toList());
     }
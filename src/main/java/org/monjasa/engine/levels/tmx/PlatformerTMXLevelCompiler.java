@@ -0,0 +1,59 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+public class PlatformerTMXLevelCompiler {
+
+    private PlatformerTMXLevelParser levelParser;
+
+    public PlatformerTMXLevelCompiler() {
+        levelParser = new PlatformerTMXStreamLevelParser();
+    }
+
+    public void compileDirectory(Path levelsDirectory) throws IOException, XMLStreamException {
+        try (DirectoryStream<Path> levelFiles = Files.newDirectoryStream(levelsDirectory, "*.tmx")) {
+            for (Path levelFile : levelFiles) compileLevel(levelFile);
+        }
+    }
+
+    public Path compileLevel(Path levelFile) throws IOException, XMLStreamException {
+
+        String levelName = levelFile.getFileName().toString();
+        Path compiledFile = levelFile.resolveSibling(
+                levelName.substring(0, levelName.length() - ".tmx".length()) + PlatformerTMXBinaryReader.EXTENSION);
+
+        byte[] levelSource = Files.readAllBytes(levelFile);
+
+        CRC32 sourceChecksum = new CRC32();
+        sourceChecksum.update(levelSource);
+
+        TiledMap levelMap = levelParser.parse(new ByteArrayInputStream(levelSource));
+
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(compiledFile))) {
+            new PlatformerTMXBinaryWriter(outputStream).write(levelMap, levelSource.length, sourceChecksum.getValue());
+        }
+
+        return compiledFile;
+    }
+
+    public static void main(String[] args) throws IOException, XMLStreamException {
+
+        if (args.length != 1) {
+            System.err.println("Usage: PlatformerTMXLevelCompiler <levels directory>");
+            System.exit(1);
+        }
+
+        new PlatformerTMXLevelCompiler().compileDirectory(Paths.get(args[0]));
+    }
+}
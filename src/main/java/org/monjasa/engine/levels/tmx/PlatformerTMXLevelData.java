@@ -0,0 +1,65 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.Layer;
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Map;
+
+public class PlatformerTMXLevelData {
+
+    private static final long OBJECT_ESTIMATED_SIZE = 512;
+
+    private URL sourceURL;
+    private TiledMap levelMap;
+    private Map<String, Image> tilesetImages;
+
+    private long estimatedSize;
+    private boolean released;
+
+    PlatformerTMXLevelData(URL sourceURL, TiledMap levelMap, Map<String, Image> tilesetImages) {
+        this.sourceURL = sourceURL;
+        this.levelMap = levelMap;
+        this.tilesetImages = tilesetImages;
+        this.estimatedSize = estimateSize();
+    }
+
+    private long estimateSize() {
+
+        long size = 0;
+
+        for (Layer layer : levelMap.getLayers()) {
+            size += layer.getData() instanceof PlatformerTMXTileData
+                    ? (long) layer.getData().size() * Integer.BYTES
+                    : (long) layer.getData().size() * 4 * Integer.BYTES;
+            size += layer.getObjects().size() * OBJECT_ESTIMATED_SIZE;
+        }
+
+        return size;
+    }
+
+    public synchronized void release() {
+
+        if (released) return;
+        released = true;
+
+        tilesetImages.values().forEach(PlatformerTMXTilesetCache.getTilesetCacheInstance()::release);
+    }
+
+    public URL getSourceURL() {
+        return sourceURL;
+    }
+
+    public TiledMap getLevelMap() {
+        return levelMap;
+    }
+
+    Map<String, Image> getTilesetImages() {
+        return tilesetImages;
+    }
+
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+}
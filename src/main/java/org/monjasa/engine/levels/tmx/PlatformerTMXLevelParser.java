@@ -9,14 +9,9 @@ import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.events.EndElement;
 import javax.xml.stream.events.StartElement;
 import javax.xml.stream.events.XMLEvent;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Base64;
-import java.util.stream.Collectors;
-import java.util.zip.InflaterInputStream;
 
 import static org.monjasa.engine.levels.tmx.PlatformerTMXObjectType.*;
 
@@ -45,49 +40,53 @@ class PlatformerTMXLevelParser {
 
             if (event.isStartElement()) {
                 StartElement start = event.asStartElement();
+                PlatformerTMXAttributeService attributes = new PlatformerTMXAttributeService(start);
 
                 switch (start.getName().getLocalPart()) {
                     case "map":
-                        parseMap(map, start);
+                        parseMap(map, attributes);
                         break;
                     case "tileset":
                         currentTileset = new Tileset();
-                        parseTileset(currentTileset, start);
+                        parseTileset(currentTileset, attributes);
                         break;
                     case "tile":
                         currentTile = new Tile();
-                        parseTile(currentTile, start);
+                        parseTile(currentTile, attributes);
                         insideTileTag = true;
                         break;
                     case "image":
                         if (insideTileTag) {
-                            parseImage(currentTile, start);
+                            parseImage(currentTile, attributes);
                         } else {
-                            parseImage(currentTileset, start);
+                            parseImage(currentTileset, attributes);
                         }
                         break;
                     case "layer":
                         currentLayer = new Layer();
-                        parseTileLayer(currentLayer, start);
+                        parseTileLayer(currentLayer, attributes);
                         break;
                     case "data":
-                        parseData(currentLayer, eventReader.getElementText(), start);
+                        parseData(currentLayer,
+                                attributes.getStringAttribute("encoding"),
+                                attributes.getStringAttribute("compression"),
+                                eventReader.getElementText());
                         break;
                     case "objectgroup":
                         currentLayer = new Layer();
-                        parseObjectGroupLayer(currentLayer, start);
+                        parseObjectGroupLayer(currentLayer, attributes);
                         break;
                     case "object":
                         mapPropertiesFinished = true;
 
                         currentObject = new TiledObject();
-                        parseObject(currentLayer, currentObject, start);
+                        parseObject(currentLayer, currentObject, attributes);
                         break;
                     case "property":
                         if (mapPropertiesFinished) {
-                            parseObjectProperty(currentObject, start);
+                            parseObjectProperty(currentObject, attributes);
                         } else {
-                            parseMapProperty(map, start);
+                            parseMapProperty(map, attributes);
                         }
                         break;
                     // TODO: implement polygons
@@ -119,9 +118,7 @@ class PlatformerTMXLevelParser {
         return map;
     }
 
-    private void parseMap(TiledMap map, StartElement startElement) {
-
-        PlatformerTMXAttributeService mapService = new PlatformerTMXAttributeService(startElement);
+    void parseMap(TiledMap map, PlatformerTMXAttributeService mapService) {
 
         map.setType(MAP.getValue());
         map.setVersion(1);
@@ -139,9 +136,7 @@ class PlatformerTMXLevelParser {
         map.setTiledversion(mapService.getStringAttribute("tiledversion"));
     }
 
-    private void parseTileset(Tileset tileset, StartElement startElement) {
-
-        PlatformerTMXAttributeService tilesetService = new PlatformerTMXAttributeService(startElement);
+    void parseTileset(Tileset tileset, PlatformerTMXAttributeService tilesetService) {
 
         tileset.setFirstgid(tilesetService.getIntAttribute("firstgid"));
         tileset.setName(tilesetService.getStringAttribute("name"));
@@ -152,14 +147,11 @@ class PlatformerTMXLevelParser {
         tileset.setColumns(tilesetService.getIntAttribute("columns"));
     }
 
-    private void parseTile(Tile tile, StartElement startElement) {
-        PlatformerTMXAttributeService tileService = new PlatformerTMXAttributeService(startElement);
+    void parseTile(Tile tile, PlatformerTMXAttributeService tileService) {
         tile.setId(tileService.getIntAttribute("id"));
     }
 
-    private void parseImage(Tileset tileset, StartElement startElement) {
-
-        PlatformerTMXAttributeService imageService = new PlatformerTMXAttributeService(startElement);
+    void parseImage(Tileset tileset, PlatformerTMXAttributeService imageService) {
 
         tileset.setImage(imageService.getStringAttribute("source"));
         tileset.setImagewidth(imageService.getIntAttribute("width"));
@@ -167,9 +159,7 @@ class PlatformerTMXLevelParser {
         tileset.setTransparentcolor(imageService.getStringAttribute("trans"));
     }
 
-    private void parseImage(Tile tile, StartElement startElement) {
-
-        PlatformerTMXAttributeService imageService = new PlatformerTMXAttributeService(startElement);
+    void parseImage(Tile tile, PlatformerTMXAttributeService imageService) {
 
         tile.setImage(imageService.getStringAttribute("source"));
         tile.setImagewidth(imageService.getIntAttribute("width"));
@@ -177,9 +167,7 @@ class PlatformerTMXLevelParser {
         tile.setTransparentcolor(imageService.getStringAttribute("trans"));
     }
 
-    private void parseTileLayer(Layer layer, StartElement startElement) {
-
-        PlatformerTMXAttributeService tileLayerService = new PlatformerTMXAttributeService(startElement);
+    void parseTileLayer(Layer layer, PlatformerTMXAttributeService tileLayerService) {
 
         layer.setType(TILE_LAYER.getValue());
 
@@ -190,53 +178,38 @@ class PlatformerTMXLevelParser {
         layer.setVisible(tileLayerService.getIntAttribute("visible") == 1);
     }
 
-    //TODO: finish the method body
-
-    private void parseData(Layer layer, String data, StartElement startElement) {
-
-        PlatformerTMXAttributeService dataService = new PlatformerTMXAttributeService(startElement);
-
-        switch (dataService.getStringAttribute("encoding")) {
-
-            case "csv":
-                layer.setData(Arrays.stream(data.replace("\n", "").split(","))
-                        .map(Integer::parseInt)
-                        .collect(Collectors.toList()));
-                return;
+    void parseData(Layer layer, String encoding, String compression, String data) {
 
-            case "base64":
+        int tileCount = layer.getWidth() * layer.getHeight();
 
-                System.err.println("TO DO.........");
+        try {
+            switch (encoding) {
 
-                byte[] bytes = Base64.getDecoder().decode(data.trim());
-                switch (dataService.getStringAttribute("compression")) {
-                    case "zlib":
-                        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-                        InflaterInputStream inflaterInputStream = new InflaterInputStream(new ByteArrayInputStream(bytes));
-                        break;
-                    case "gzip":
-                        break;
-                }
+                case "csv":
+                    layer.setData(new PlatformerTMXTileData(PlatformerTMXDataDecoder.decodeCsv(data, tileCount)));
+                    return;
 
-                return;
+                case "base64":
+                    layer.setData(new PlatformerTMXTileData(
+                            PlatformerTMXDataDecoder.decodeBase64(data, compression, tileCount)));
+                    return;
 
-            default:
-                throw new RuntimeException();
+                default:
+                    throw new RuntimeException("parseData");
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("parseData", e);
         }
     }
 
-    private void parseObjectGroupLayer(Layer layer, StartElement startElement) {
-
-        PlatformerTMXAttributeService objectGroupLayerService = new PlatformerTMXAttributeService(startElement);
+    void parseObjectGroupLayer(Layer layer, PlatformerTMXAttributeService objectGroupLayerService) {
 
         layer.setType(OBJECT_GROUP.getValue());
 
         layer.setName(objectGroupLayerService.getStringAttribute("name"));
     }
 
-    private void parseObject(Layer layer, TiledObject obj, StartElement startElement) {
-
-        PlatformerTMXAttributeService objectService = new PlatformerTMXAttributeService(startElement);
+    void parseObject(Layer layer, TiledObject obj, PlatformerTMXAttributeService objectService) {
 
         obj.setName(objectService.getStringAttribute("name"));
         obj.setType(objectService.getStringAttribute("type"));
@@ -265,9 +238,7 @@ class PlatformerTMXLevelParser {
         layer.getObjects().add(obj);
     }
 
-    private void parseObjectProperty(TiledObject obj, StartElement startElement) {
-
-        PlatformerTMXAttributeService objectPropertyService = new PlatformerTMXAttributeService(startElement);
+    void parseObjectProperty(TiledObject obj, PlatformerTMXAttributeService objectPropertyService) {
 
         String propName = objectPropertyService.getStringAttribute("name");
         String propType = objectPropertyService.getStringAttribute("type");
@@ -296,9 +267,7 @@ class PlatformerTMXLevelParser {
         }
     }
 
-    private void parseMapProperty(TiledMap map, StartElement startElement) {
-
-        PlatformerTMXAttributeService mapPropertyService = new PlatformerTMXAttributeService(startElement);
+    void parseMapProperty(TiledMap map, PlatformerTMXAttributeService mapPropertyService) {
 
         String propName = mapPropertyService.getStringAttribute("name");
         String propType = mapPropertyService.getStringAttribute("type");
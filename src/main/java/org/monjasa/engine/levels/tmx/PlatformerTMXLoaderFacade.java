@@ -4,45 +4,149 @@ import com.almasb.fxgl.entity.Entity;
 import com.almasb.fxgl.entity.GameWorld;
 import com.almasb.fxgl.entity.level.Level;
 import com.almasb.fxgl.entity.level.LevelLoader;
+import com.almasb.fxgl.entity.level.tiled.Tile;
 import com.almasb.fxgl.entity.level.tiled.TiledMap;
-import com.almasb.fxgl.entity.level.tiled.TilesetLoader;
+import com.almasb.fxgl.entity.level.tiled.Tileset;
+import javafx.scene.image.Image;
 
 import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class PlatformerTMXLoaderFacade implements LevelLoader {
 
+    private PlatformerTMXLevelParser levelParser;
+    private int tileLayerChunkSize;
+
+    public PlatformerTMXLoaderFacade() {
+        this(0);
+    }
+
+    public PlatformerTMXLoaderFacade(int tileLayerChunkSize) {
+        this(new PlatformerTMXStreamLevelParser(), tileLayerChunkSize);
+    }
+
+    PlatformerTMXLoaderFacade(PlatformerTMXLevelParser levelParser, int tileLayerChunkSize) {
+        this.levelParser = levelParser;
+        this.tileLayerChunkSize = tileLayerChunkSize;
+    }
+
     @Override
     public Level load(URL url, GameWorld gameWorld) {
 
-        PlatformerTMXLevelParser levelParser = new PlatformerTMXLevelParser();
+        PlatformerTMXLevelData levelData = loadLevelData(url);
 
         try {
-            TiledMap levelMap = levelParser.parse(url.openStream());
-            TilesetLoader tilesetLoader = new TilesetLoader(levelMap, url);
+            return load(levelData, gameWorld);
+        } finally {
+            levelData.release();
+        }
+    }
+
+    public Level load(PlatformerTMXLevelData levelData, GameWorld gameWorld) {
 
-            PlatformerTMXEntitiesCollector entitiesCollector = new PlatformerTMXEntitiesCollector(levelMap, tilesetLoader, gameWorld);
+        TiledMap levelMap = levelData.getLevelMap();
+        PlatformerTMXTilesetLoader tilesetLoader = new PlatformerTMXTilesetLoader(levelData);
 
-            List<Entity> tileLayerEntities = entitiesCollector.collectTileLayerEntities();
-            List<Entity> objectEntities = entitiesCollector.collectObjectLayerEntities();
+        PlatformerTMXEntitiesCollector entitiesCollector = new PlatformerTMXEntitiesCollector(
+                levelMap, tilesetLoader, gameWorld, tileLayerChunkSize);
 
-            Level level = new Level(
-                    levelMap.getWidth() * levelMap.getTilewidth(),
-                    levelMap.getHeight() * levelMap.getTileheight(),
-                    Stream.of(tileLayerEntities, objectEntities).flatMap(Collection::stream).collect(Collectors.toList()));
+        List<Entity> tileLayerEntities = entitiesCollector.collectTileLayerEntities();
+        List<Entity> objectEntities = entitiesCollector.collectObjectLayerEntities();
 
-            levelMap.getProperties().forEach(level.getProperties()::setValue);
+        Level level = new Level(
+                levelMap.getWidth() * levelMap.getTilewidth(),
+                levelMap.getHeight() * levelMap.getTileheight(),
+                Stream.of(tileLayerEntities, objectEntities).flatMap(Collection::stream).collect(Collectors.toList()));
+
+        levelMap.getProperties().forEach(level.getProperties()::setValue);
+
+        return level;
+    }
 
-            return level;
+    public PlatformerTMXLevelData loadLevelData(URL url) {
+
+        try {
+            TiledMap levelMap = parse(url);
+            return new PlatformerTMXLevelData(url, levelMap, loadTilesetImages(url, levelMap));
+
+        } catch (IOException | XMLStreamException e) {
+            e.printStackTrace();
+            throw new RuntimeException();
+        }
+    }
+
+    public TiledMap loadLevelMap(URL url) {
+
+        try {
+            return parse(url);
 
         } catch (IOException | XMLStreamException e) {
             e.printStackTrace();
             throw new RuntimeException();
         }
     }
+
+    private TiledMap parse(URL url) throws IOException, XMLStreamException {
+
+        if (url.getPath().endsWith(PlatformerTMXBinaryReader.EXTENSION))
+            return new PlatformerTMXBinaryReader().read(url);
+
+        try (InputStream inputStream = url.openStream()) {
+            return levelParser.parse(inputStream);
+        }
+    }
+
+    private Map<String, Image> loadTilesetImages(URL url, TiledMap levelMap) throws IOException {
+
+        PlatformerTMXTilesetCache tilesetCache = PlatformerTMXTilesetCache.getTilesetCacheInstance();
+        Map<String, Image> tilesetImages = new HashMap<>();
+
+        try {
+            for (Tileset tileset : levelMap.getTilesets()) {
+
+                acquireImage(tilesetCache, tilesetImages, url, tileset.getImage(), tileset.getTransparentcolor());
+
+                for (Tile tile : tileset.getTiles())
+                    acquireImage(tilesetCache, tilesetImages, url, tile.getImage(), tile.getTransparentcolor());
+            }
+        } catch (IOException e) {
+            tilesetImages.values().forEach(tilesetCache::release);
+            throw e;
+        }
+
+        return tilesetImages;
+    }
+
+    private static void acquireImage(PlatformerTMXTilesetCache tilesetCache, Map<String, Image> tilesetImages,
+                                     URL levelURL, String imageSource, String transparentColor) throws IOException {
+
+        if (imageSource.isEmpty()) return;
+
+        String imageKey = PlatformerTMXTilesetCache.imageKey(imageSource, transparentColor);
+        if (tilesetImages.containsKey(imageKey)) return;
+
+        tilesetImages.put(imageKey, tilesetCache.acquire(new URL(levelURL, imageSource), transparentColor));
+    }
+
+    public static URL findCompiledLevel(URL levelURL) {
+
+        String levelPath = levelURL.toExternalForm();
+        if (!levelPath.endsWith(".tmx")) return levelURL;
+
+        try {
+            URL compiledLevelURL = new URL(levelPath.substring(0, levelPath.length() - ".tmx".length())
+                    + PlatformerTMXBinaryReader.EXTENSION);
+            return PlatformerTMXBinaryReader.isCompiledFrom(compiledLevelURL, levelURL) ? compiledLevelURL : levelURL;
+        } catch (IOException e) {
+            return levelURL;
+        }
+    }
 }
@@ -0,0 +1,122 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.*;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+class PlatformerTMXStreamLevelParser extends PlatformerTMXLevelParser {
+
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+    private static XMLStreamReader createStreamReader(InputStream inputStream) throws XMLStreamException {
+        synchronized (INPUT_FACTORY) {
+            return INPUT_FACTORY.createXMLStreamReader(inputStream, "UTF-8");
+        }
+    }
+
+    @Override
+    public TiledMap parse(InputStream inputStream) throws XMLStreamException {
+
+        XMLStreamReader streamReader = createStreamReader(inputStream);
+        PlatformerTMXAttributeService attributes = new PlatformerTMXAttributeService(streamReader);
+
+        TiledMap map = new TiledMap();
+        ArrayList<Layer> layers = new ArrayList<>();
+        ArrayList<Tileset> tilesets = new ArrayList<>();
+
+        Layer currentLayer = new Layer();
+        Tileset currentTileset = new Tileset();
+        Tile currentTile = new Tile();
+        TiledObject currentObject = new TiledObject();
+
+        boolean insideTileTag = false;
+        boolean mapPropertiesFinished = false;
+
+        try {
+            while (streamReader.hasNext()) {
+
+                int event = streamReader.next();
+
+                if (event == XMLStreamConstants.START_ELEMENT) {
+
+                    switch (streamReader.getLocalName()) {
+                        case "map":
+                            parseMap(map, attributes);
+                            break;
+                        case "tileset":
+                            currentTileset = new Tileset();
+                            parseTileset(currentTileset, attributes);
+                            break;
+                        case "tile":
+                            currentTile = new Tile();
+                            parseTile(currentTile, attributes);
+                            insideTileTag = true;
+                            break;
+                        case "image":
+                            if (insideTileTag) {
+                                parseImage(currentTile, attributes);
+                            } else {
+                                parseImage(currentTileset, attributes);
+                            }
+                            break;
+                        case "layer":
+                            currentLayer = new Layer();
+                            parseTileLayer(currentLayer, attributes);
+                            break;
+                        case "data":
+                            String encoding = attributes.getStringAttribute("encoding");
+                            String compression = attributes.getStringAttribute("compression");
+                            parseData(currentLayer, encoding, compression, streamReader.getElementText());
+                            break;
+                        case "objectgroup":
+                            currentLayer = new Layer();
+                            parseObjectGroupLayer(currentLayer, attributes);
+                            break;
+                        case "object":
+                            mapPropertiesFinished = true;
+
+                            currentObject = new TiledObject();
+                            parseObject(currentLayer, currentObject, attributes);
+                            break;
+                        case "property":
+                            if (mapPropertiesFinished) {
+                                parseObjectProperty(currentObject, attributes);
+                            } else {
+                                parseMapProperty(map, attributes);
+                            }
+                            break;
+                    }
+                }
+
+                if (event == XMLStreamConstants.END_ELEMENT) {
+
+                    switch (streamReader.getLocalName()) {
+                        case "tileset":
+                            tilesets.add(currentTileset);
+                            break;
+                        case "tile":
+                            currentTileset.getTiles().add(currentTile);
+                            insideTileTag = false;
+                            break;
+                        case "layer":
+                        case "objectgroup":
+                            layers.add(currentLayer);
+                            break;
+                    }
+                }
+            }
+        } finally {
+            streamReader.close();
+        }
+
+        map.setLayers(layers);
+        map.setTilesets(tilesets);
+
+        return map;
+    }
+}
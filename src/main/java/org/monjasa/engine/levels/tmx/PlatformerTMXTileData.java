@@ -0,0 +1,31 @@
+package org.monjasa.engine.levels.tmx;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+class PlatformerTMXTileData extends AbstractList<Integer> implements RandomAccess {
+
+    private int[] tiles;
+
+    PlatformerTMXTileData(int[] tiles) {
+        this.tiles = tiles;
+    }
+
+    @Override
+    public Integer get(int index) {
+        return tiles[index];
+    }
+
+    int getTile(int index) {
+        return tiles[index];
+    }
+
+    @Override
+    public int size() {
+        return tiles.length;
+    }
+
+    int[] getTiles() {
+        return tiles;
+    }
+}
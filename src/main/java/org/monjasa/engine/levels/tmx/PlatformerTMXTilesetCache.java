@@ -0,0 +1,175 @@
+package org.monjasa.engine.levels.tmx;
+
+import javafx.scene.image.Image;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public class PlatformerTMXTilesetCache {
+
+    private static final long UNUSED_PIXEL_BUDGET = 4096L * 4096L;
+
+    private static volatile PlatformerTMXTilesetCache instance;
+
+    public static PlatformerTMXTilesetCache getTilesetCacheInstance() {
+
+        if (instance == null)
+            synchronized (PlatformerTMXTilesetCache.class) {
+                if (instance == null)
+                    instance = new PlatformerTMXTilesetCache();
+            }
+
+        return instance;
+    }
+
+    private LinkedHashMap<String, CachedImage> cachedImages;
+    private Map<Image, CachedImage> cachedImagesByImage;
+
+    private long decodedPixels;
+    private long unusedPixels;
+
+    private PlatformerTMXTilesetCache() {
+        cachedImages = new LinkedHashMap<>(16, 0.75f, true);
+        cachedImagesByImage = new IdentityHashMap<>();
+    }
+
+    static String imageKey(String imageSource, String transparentColor) {
+        return imageSource + '#' + transparentColor;
+    }
+
+    public Image acquire(URL imageURL, String transparentColor) throws IOException {
+
+        String imageKey = imageKey(imageURL.toExternalForm(), transparentColor);
+
+        CachedImage cachedImage;
+        boolean decodingImage = false;
+
+        synchronized (this) {
+
+            cachedImage = cachedImages.get(imageKey);
+
+            if (cachedImage == null) {
+                cachedImage = new CachedImage();
+                cachedImages.put(imageKey, cachedImage);
+                decodingImage = true;
+            } else if (cachedImage.referenceCount == 0) {
+                unusedPixels -= cachedImage.pixelCount;
+            }
+
+            cachedImage.referenceCount++;
+        }
+
+        if (decodingImage) return decode(imageKey, cachedImage, imageURL, transparentColor);
+
+        try {
+            return cachedImage.decodedImage.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IOException("Could not decode tileset image " + imageURL, e.getCause());
+        }
+    }
+
+    private Image decode(String imageKey, CachedImage cachedImage, URL imageURL, String transparentColor)
+            throws IOException {
+
+        Image image;
+
+        try {
+            image = PlatformerTMXTilesetLoader.decodeImage(imageURL, transparentColor);
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                cachedImages.remove(imageKey, cachedImage);
+            }
+            cachedImage.decodedImage.completeExceptionally(e);
+            throw e;
+        }
+
+        synchronized (this) {
+            cachedImage.image = image;
+            cachedImage.pixelCount = (long) image.getWidth() * (long) image.getHeight();
+            cachedImagesByImage.put(image, cachedImage);
+            decodedPixels += cachedImage.pixelCount;
+        }
+
+        cachedImage.decodedImage.complete(image);
+
+        return image;
+    }
+
+    public synchronized void release(Image image) {
+
+        CachedImage cachedImage = cachedImagesByImage.get(image);
+        if (cachedImage == null || cachedImage.referenceCount == 0) return;
+
+        if (--cachedImage.referenceCount == 0) {
+            unusedPixels += cachedImage.pixelCount;
+            evictUnusedImages();
+        }
+    }
+
+    public synchronized void clear() {
+
+        cachedImages.values().removeIf(cachedImage -> {
+            if (cachedImage.referenceCount > 0) return false;
+            forget(cachedImage);
+            return true;
+        });
+
+        unusedPixels = 0;
+    }
+
+    private void evictUnusedImages() {
+
+        Iterator<CachedImage> eldestImages = cachedImages.values().iterator();
+
+        while (unusedPixels > UNUSED_PIXEL_BUDGET && eldestImages.hasNext()) {
+
+            CachedImage cachedImage = eldestImages.next();
+            if (cachedImage.referenceCount > 0) continue;
+
+            eldestImages.remove();
+            forget(cachedImage);
+            unusedPixels -= cachedImage.pixelCount;
+        }
+    }
+
+    private void forget(CachedImage cachedImage) {
+        cachedImagesByImage.remove(cachedImage.image);
+        decodedPixels -= cachedImage.pixelCount;
+    }
+
+    public synchronized long getDecodedPixelCount() {
+        return decodedPixels;
+    }
+
+    public synchronized long getDecodedByteCount() {
+        return decodedPixels * Integer.BYTES;
+    }
+
+    public synchronized int size() {
+        return cachedImages.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "PlatformerTMXTilesetCache{" +
+                "images=" + cachedImages.size() +
+                ", decodedPixels=" + decodedPixels +
+                ", unusedPixels=" + unusedPixels +
+                '}';
+    }
+
+    private static class CachedImage {
+
+        private CompletableFuture<Image> decodedImage = new CompletableFuture<>();
+        private Image image;
+        private long pixelCount;
+        private int referenceCount;
+    }
+}
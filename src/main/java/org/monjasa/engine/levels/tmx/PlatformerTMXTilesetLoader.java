@@ -0,0 +1,236 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.Layer;
+import com.almasb.fxgl.entity.level.tiled.Tile;
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import com.almasb.fxgl.entity.level.tiled.Tileset;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.image.*;
+import javafx.scene.paint.Color;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+class PlatformerTMXTilesetLoader {
+
+    static final int GID_MASK = 0x1FFFFFFF;
+
+    private TiledMap map;
+    private Map<String, Image> tilesetImages;
+
+    PlatformerTMXTilesetLoader(PlatformerTMXLevelData levelData) {
+        this.map = levelData.getLevelMap();
+        this.tilesetImages = levelData.getTilesetImages();
+    }
+
+    static Image decodeImage(URL imageURL, String transparentColor) throws IOException {
+
+        Image image;
+        try (InputStream inputStream = imageURL.openStream()) {
+            image = new Image(inputStream);
+        }
+
+        if (image.isError()) throw new IOException("Cannot decode tileset image " + imageURL, image.getException());
+        if (transparentColor.isEmpty()) return image;
+
+        Color colorToRemove = Color.web(transparentColor);
+        int rgbToRemove = ((int) Math.round(colorToRemove.getRed() * 255) << 16)
+                | ((int) Math.round(colorToRemove.getGreen() * 255) << 8)
+                | (int) Math.round(colorToRemove.getBlue() * 255);
+
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+
+        WritableImage transparentImage = new WritableImage(image.getPixelReader(), width, height);
+        PixelReader pixelReader = transparentImage.getPixelReader();
+        PixelWriter pixelWriter = transparentImage.getPixelWriter();
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if ((pixelReader.getArgb(x, y) & 0xFFFFFF) == rgbToRemove) pixelWriter.setArgb(x, y, 0);
+            }
+        }
+
+        return transparentImage;
+    }
+
+    Node loadView(String layerName) {
+
+        Layer layer = findLayer(layerName);
+
+        WritableImage layerImage = new WritableImage(
+                layer.getWidth() * map.getTilewidth(),
+                layer.getHeight() * map.getTileheight()
+        );
+
+        drawTiles(layer, layerImage.getPixelWriter(), 0, 0, layer.getWidth(), layer.getHeight());
+
+        return new ImageView(layerImage);
+    }
+
+    List<ImageView> loadChunkViews(String layerName, int chunkSize) {
+
+        Layer layer = findLayer(layerName);
+
+        int chunkColumns = Math.max(chunkSize / map.getTilewidth(), 1);
+        int chunkRows = Math.max(chunkSize / map.getTileheight(), 1);
+
+        List<ImageView> chunkViews = new ArrayList<>();
+
+        for (int fromRow = 0; fromRow < layer.getHeight(); fromRow += chunkRows) {
+            for (int fromColumn = 0; fromColumn < layer.getWidth(); fromColumn += chunkColumns) {
+
+                int toColumn = Math.min(fromColumn + chunkColumns, layer.getWidth());
+                int toRow = Math.min(fromRow + chunkRows, layer.getHeight());
+
+                if (isEmpty(layer, fromColumn, fromRow, toColumn, toRow)) continue;
+
+                WritableImage chunkImage = new WritableImage(
+                        (toColumn - fromColumn) * map.getTilewidth(),
+                        (toRow - fromRow) * map.getTileheight()
+                );
+
+                drawTiles(layer, chunkImage.getPixelWriter(), fromColumn, fromRow, toColumn, toRow);
+
+                ImageView chunkView = new ImageView(chunkImage);
+                chunkView.setTranslateX(fromColumn * map.getTilewidth());
+                chunkView.setTranslateY(fromRow * map.getTileheight());
+                chunkViews.add(chunkView);
+            }
+        }
+
+        return chunkViews;
+    }
+
+    private boolean isEmpty(Layer layer, int fromColumn, int fromRow, int toColumn, int toRow) {
+
+        List<Integer> data = layer.getData();
+        PlatformerTMXTileData tileData = data instanceof PlatformerTMXTileData ? (PlatformerTMXTileData) data : null;
+
+        for (int row = fromRow; row < toRow; row++) {
+            for (int column = fromColumn; column < toColumn; column++) {
+                int tileIndex = row * layer.getWidth() + column;
+                if (((tileData != null ? tileData.getTile(tileIndex) : data.get(tileIndex)) & GID_MASK) != 0)
+                    return false;
+            }
+        }
+
+        return true;
+    }
+
+    void drawTiles(Layer layer, PixelWriter pixelWriter, int fromColumn, int fromRow, int toColumn, int toRow) {
+
+        List<Integer> data = layer.getData();
+        PlatformerTMXTileData tileData = data instanceof PlatformerTMXTileData ? (PlatformerTMXTileData) data : null;
+
+        int imageWidth = (toColumn - fromColumn) * map.getTilewidth();
+        int imageHeight = (toRow - fromRow) * map.getTileheight();
+
+        for (int row = fromRow; row < toRow; row++) {
+            for (int column = fromColumn; column < toColumn; column++) {
+
+                int tileIndex = row * layer.getWidth() + column;
+                int gid = (tileData != null ? tileData.getTile(tileIndex) : data.get(tileIndex)) & GID_MASK;
+
+                if (gid == 0) continue;
+
+                Tileset tileset = findTileset(gid);
+                Rectangle2D sourceRect = getSourceRect(tileset, gid);
+
+                int destinationX = (column - fromColumn) * map.getTilewidth();
+                int destinationY = (row - fromRow) * map.getTileheight();
+
+                int width = (int) Math.min(sourceRect.getWidth(), imageWidth - destinationX);
+                int height = (int) Math.min(sourceRect.getHeight(), imageHeight - destinationY);
+
+                pixelWriter.setPixels(destinationX, destinationY, width, height,
+                        getSourceImage(tileset, gid).getPixelReader(),
+                        (int) sourceRect.getMinX(), (int) sourceRect.getMinY());
+            }
+        }
+    }
+
+    Node loadView(int gid, boolean isFlippedHorizontal, boolean isFlippedVertical) {
+
+        Tileset tileset = findTileset(gid);
+
+        ImageView view = new ImageView(getSourceImage(tileset, gid));
+        view.setViewport(getSourceRect(tileset, gid));
+
+        if (isFlippedHorizontal) view.setScaleX(-1);
+        if (isFlippedVertical) view.setScaleY(-1);
+
+        return view;
+    }
+
+    private Layer findLayer(String layerName) {
+        return map.getLayers().stream()
+                .filter(mapLayer -> mapLayer.getName().equals(layerName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No tile layer named " + layerName));
+    }
+
+    private Tileset findTileset(int gid) {
+
+        Tileset result = null;
+
+        for (Tileset tileset : map.getTilesets()) {
+            if (tileset.getFirstgid() <= gid && (result == null || tileset.getFirstgid() > result.getFirstgid()))
+                result = tileset;
+        }
+
+        if (result == null) throw new IllegalArgumentException("No tileset for gid " + gid);
+
+        return result;
+    }
+
+    private Image getSourceImage(Tileset tileset, int gid) {
+
+        String imageKey;
+
+        if (tileset.getImage().isEmpty()) {
+            Tile tile = findTile(tileset, gid);
+            imageKey = PlatformerTMXTilesetCache.imageKey(tile.getImage(), tile.getTransparentcolor());
+        } else {
+            imageKey = PlatformerTMXTilesetCache.imageKey(tileset.getImage(), tileset.getTransparentcolor());
+        }
+
+        Image image = tilesetImages.get(imageKey);
+        if (image == null) throw new IllegalStateException("Tileset image was not loaded: " + imageKey);
+
+        return image;
+    }
+
+    private Rectangle2D getSourceRect(Tileset tileset, int gid) {
+
+        if (tileset.getImage().isEmpty()) {
+            Tile tile = findTile(tileset, gid);
+            return new Rectangle2D(0, 0, tile.getImagewidth(), tile.getImageheight());
+        }
+
+        int localId = gid - tileset.getFirstgid();
+        int columns = Math.max(tileset.getColumns(), 1);
+
+        return new Rectangle2D(
+                localId % columns * (tileset.getTilewidth() + tileset.getSpacing()),
+                localId / columns * (tileset.getTileheight() + tileset.getSpacing()),
+                tileset.getTilewidth(),
+                tileset.getTileheight()
+        );
+    }
+
+    private Tile findTile(Tileset tileset, int gid) {
+
+        int localId = gid - tileset.getFirstgid();
+
+        return tileset.getTiles().stream()
+                .filter(tile -> tile.getId() == localId)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No tile for gid " + gid));
+    }
+}
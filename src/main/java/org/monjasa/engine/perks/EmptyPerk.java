@@ -12,4 +12,13 @@ public class EmptyPerk implements Perk {
     @Override
     public void undo(Entity receiver) {
     }
+
+    @Override
+    public void apply(Entity receiver, int times) {
+    }
+
+    @Override
+    public int getCost() {
+        return 0;
+    }
 }
@@ -43,6 +43,19 @@ public class HPChangingPerk implements Perk {
         } else throw new UnsupportedPerkReceiverException(receiver, EntityHPComponent.class);
     }
 
+    @Override
+    public void apply(Entity receiver, int times) {
+
+        if (receiver.hasComponent(EntityHPComponent.class)) {
+            receiver.getComponent(EntityHPComponent.class).expandValue(valueDifference * times);
+        } else throw new UnsupportedPerkReceiverException(receiver, EntityHPComponent.class);
+    }
+
+    @Override
+    public int getCost() {
+        return cost;
+    }
+
     @Override
     public String toString() {
         return "HPChangingPerk{" +
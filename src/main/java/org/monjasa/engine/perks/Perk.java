@@ -9,4 +9,8 @@ public interface Perk extends Serializable {
     boolean execute(Entity receiver);
 
     void undo(Entity receiver);
+
+    void apply(Entity receiver, int times);
+
+    int getCost();
 }
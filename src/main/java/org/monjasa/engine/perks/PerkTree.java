@@ -2,7 +2,9 @@ package org.monjasa.engine.perks;
 
 import com.almasb.fxgl.core.serialization.Bundle;
 import com.almasb.fxgl.core.serialization.SerializableType;
+import com.almasb.fxgl.dsl.FXGL;
 import com.almasb.fxgl.entity.Entity;
+import org.monjasa.engine.PlatformerApplication;
 import org.monjasa.engine.entities.PlatformerEntityType;
 
 import java.util.*;
@@ -31,17 +33,18 @@ public class PerkTree implements SerializableType {
 
     @Override
     public void read(Bundle bundle) {
+        read(bundle, getGameWorld().getSingleton(PlatformerEntityType.PLAYER));
+    }
 
-        Entity player = getGameWorld().getSingleton(PlatformerEntityType.PLAYER);
+    public void read(Bundle bundle, Entity player) {
 
         perksHistory = new HashMap<>();
 
         perks.forEach((perkClass, perk) -> {
             if (bundle.exists(perkClass.getSimpleName())) {
-                for (int i = 0; i < bundle.<Integer>get(perkClass.getSimpleName()); i++) {
-                    perk.execute(player);
-                    perksHistory.merge(perkClass, 1, Integer::sum);
-                }
+                int purchases = bundle.<Integer>get(perkClass.getSimpleName());
+                perk.apply(player, purchases);
+                perksHistory.put(perkClass, purchases);
             }
         });
     }
@@ -68,7 +71,22 @@ public class PerkTree implements SerializableType {
     }
 
     public void undoPerks() {
-        perksToUndo.forEach(perk -> perk.undo(getGameWorld().getSingleton(PlatformerEntityType.PLAYER)));
+
+        if (perksToUndo.isEmpty()) return;
+
+        Entity player = getGameWorld().getSingleton(PlatformerEntityType.PLAYER);
+
+        Map<Perk, Integer> purchases = new HashMap<>();
+        perksToUndo.forEach(perk -> purchases.merge(perk, 1, Integer::sum));
+
+        int refund = 0;
+        for (Map.Entry<Perk, Integer> purchase : purchases.entrySet()) {
+            purchase.getKey().apply(player, -purchase.getValue());
+            refund += purchase.getKey().getCost() * purchase.getValue();
+        }
+
+        FXGL.<PlatformerApplication>getAppCast().changeCoinsAvailableValue(refund);
+
         perksToUndo.clear();
     }
 
@@ -43,6 +43,20 @@ public class SpeedChangingPerk implements Perk {
         } else throw new UnsupportedPerkReceiverException(receiver, DynamicComponent.class);
     }
 
+    @Override
+    public void apply(Entity receiver, int times) {
+
+        if (receiver.hasComponent(DynamicComponent.class)) {
+            DynamicComponent dynamicComponent = receiver.getComponent(DynamicComponent.class);
+            dynamicComponent.setHorizontalVelocity(dynamicComponent.getHorizontalVelocity() + valueDifference * times);
+        } else throw new UnsupportedPerkReceiverException(receiver, DynamicComponent.class);
+    }
+
+    @Override
+    public int getCost() {
+        return cost;
+    }
+
     @Override
     public String toString() {
         return "SpeedChangingPerk{" +
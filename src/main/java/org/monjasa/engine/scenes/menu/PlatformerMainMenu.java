@@ -82,6 +82,7 @@ public class PlatformerMainMenu extends FXGLMenu {
 
     @Override
     public void onCreate() {
+        FXGL.<PlatformerApplication>getAppCast().cancelLevelPrefetch();
         FXGL.getAudioPlayer().stopMusic(FXGL.<PlatformerApplication>getAppCast().getGameMusic());
         FXGL.getAudioPlayer().loopMusic(FXGL.<PlatformerApplication>getAppCast().getMainMenuMusic());
         getContentRoot().setCursor(FXGL.<PlatformerApplication>getAppCast().getImageCursor());
@@ -0,0 +1,67 @@
+package org.monjasa.engine.util;
+
+import java.util.function.DoubleConsumer;
+
+public class FixedTimestepScheduler {
+
+    private static final int DEFAULT_MAX_STEPS_PER_FRAME = 8;
+
+    private double stepDuration;
+    private int maxStepsPerFrame;
+
+    private double accumulator;
+    private long stepCount;
+
+    public FixedTimestepScheduler(int stepsPerSecond) {
+        this(stepsPerSecond, DEFAULT_MAX_STEPS_PER_FRAME);
+    }
+
+    public FixedTimestepScheduler(int stepsPerSecond, int maxStepsPerFrame) {
+
+        if (stepsPerSecond <= 0) throw new IllegalArgumentException("Steps per second must be positive");
+        if (maxStepsPerFrame <= 0) throw new IllegalArgumentException("Max steps per frame must be positive");
+
+        this.stepDuration = 1.0 / stepsPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    public int advance(double frameDuration, DoubleConsumer step) {
+
+        accumulator += frameDuration;
+
+        int steps = 0;
+        while (accumulator >= stepDuration && steps < maxStepsPerFrame) {
+            step.accept(stepDuration);
+            accumulator -= stepDuration;
+            steps++;
+            stepCount++;
+        }
+
+        if (steps == maxStepsPerFrame && accumulator >= stepDuration) accumulator %= stepDuration;
+
+        return steps;
+    }
+
+    public void runSteps(long steps, DoubleConsumer step) {
+        for (long i = 0; i < steps; i++) {
+            step.accept(stepDuration);
+            stepCount++;
+        }
+    }
+
+    public void reset() {
+        accumulator = 0;
+    }
+
+    public double getInterpolationAlpha() {
+        return accumulator / stepDuration;
+    }
+
+    public double getStepDuration() {
+        return stepDuration;
+    }
+
+    public long getStepCount() {
+        return stepCount;
+    }
+}
@@ -0,0 +1,59 @@
+package org.monjasa.engine.entities.enemies;
+
+import com.almasb.fxgl.entity.Entity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnemyPatrolSystemTest {
+
+    private static final int ENEMY_COUNT = 2048;
+    private static final int STEP_COUNT = 600;
+
+    private final EnemyPatrolSystem patrolSystem = EnemyPatrolSystem.getPatrolSystemInstance();
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(EnemyPatrolSystem.SINGLE_THREADED_PROPERTY);
+        patrolSystem.clear();
+    }
+
+    @Test
+    void singleThreadedAndParallelStepsMatch() {
+
+        Entity[] singleThreadedEnemies = new Entity[ENEMY_COUNT];
+        double[] singleThreadedPositions = simulate(true, singleThreadedEnemies);
+
+        Entity[] parallelEnemies = new Entity[ENEMY_COUNT];
+        double[] parallelPositions = simulate(false, parallelEnemies);
+
+        assertArrayEquals(singleThreadedPositions, parallelPositions);
+
+        for (int i = 0; i < ENEMY_COUNT; i++) {
+            assertEquals(singleThreadedEnemies[i].getX(), parallelEnemies[i].getX());
+            assertEquals(singleThreadedEnemies[i].getScaleX(), parallelEnemies[i].getScaleX());
+        }
+    }
+
+    private double[] simulate(boolean singleThreaded, Entity[] enemies) {
+
+        System.setProperty(EnemyPatrolSystem.SINGLE_THREADED_PROPERTY, String.valueOf(singleThreaded));
+        patrolSystem.clear();
+
+        assertEquals(!singleThreaded, patrolSystem.isParallel());
+
+        for (int i = 0; i < enemies.length; i++) {
+            enemies[i] = new Entity();
+            enemies[i].setX(i * 45.0);
+            patrolSystem.register(enemies[i], 40 + i % 7 * 10, 1 + i % 5 * 0.25);
+        }
+
+        for (int step = 0; step < STEP_COUNT; step++) {
+            patrolSystem.step(1.0 / 60.0 + step % 3 * 0.001);
+            patrolSystem.apply(1.0);
+        }
+
+        return patrolSystem.copyPositionsX();
+    }
+}
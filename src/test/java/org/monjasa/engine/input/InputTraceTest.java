@@ -0,0 +1,63 @@
+package org.monjasa.engine.input;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputTraceTest {
+
+    private static final int STEPS_PER_SECOND = 60;
+
+    @TempDir
+    Path traceDirectory;
+
+    @Test
+    void replaysRecordedInputAtTheSameSteps() throws IOException {
+
+        Path traceFile = traceDirectory.resolve("session.trace");
+        List<String> recorded = new ArrayList<>();
+
+        try (InputRecorder inputRecorder = new InputRecorder(traceFile, STEPS_PER_SECOND)) {
+            for (long tick = 0; tick < 400; tick++) {
+
+                if (tick == 3) inputRecorder.record(PlatformerInputAction.MOVE_RIGHT, PlatformerInputPhase.BEGIN);
+                if (tick == 3) inputRecorder.record(PlatformerInputAction.MOVE_RIGHT, PlatformerInputPhase.ACTION);
+                if (tick == 150) inputRecorder.record(PlatformerInputAction.JUMP, PlatformerInputPhase.BEGIN);
+                if (tick == 151) inputRecorder.record(PlatformerInputAction.JUMP, PlatformerInputPhase.END);
+                if (tick == 390) inputRecorder.record(PlatformerInputAction.MOVE_RIGHT, PlatformerInputPhase.END);
+
+                long step = tick;
+                inputRecorder.dispatch(step, (action, phase) -> recorded.add(step + " " + action + " " + phase));
+            }
+
+            assertEquals(4, inputRecorder.getEventCount());
+        }
+
+        InputReplayDriver inputReplayDriver = new InputReplayDriver(traceFile, STEPS_PER_SECOND);
+        List<String> replayed = new ArrayList<>();
+
+        for (long tick = 0; tick < 400; tick++) {
+            long step = tick;
+            inputReplayDriver.replay(step, (action, phase) -> replayed.add(step + " " + action + " " + phase));
+        }
+
+        assertEquals(recorded, replayed);
+        assertEquals(4, inputReplayDriver.getEventCount());
+        assertTrue(inputReplayDriver.isFinished());
+    }
+
+    @Test
+    void rejectsTraceRecordedAtAnotherStepRate() throws IOException {
+
+        Path traceFile = traceDirectory.resolve("session.trace");
+        new InputRecorder(traceFile, 30).close();
+
+        assertThrows(IOException.class, () -> new InputReplayDriver(traceFile, STEPS_PER_SECOND));
+    }
+}
@@ -0,0 +1,49 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.core.collection.PropertyMap;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.profile.DataFile;
+import org.junit.jupiter.api.Test;
+import org.monjasa.engine.entities.components.DynamicComponent;
+import org.monjasa.engine.entities.components.EntityHPComponent;
+import org.monjasa.engine.perks.HPChangingPerk;
+import org.monjasa.engine.perks.PerkTree;
+import org.monjasa.engine.perks.SpeedChangingPerk;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelSaveLoadHandlerTest {
+
+    @Test
+    void keepsCoinsAvailableWhenLoadingPurchasedPerks() throws IOException {
+
+        PlatformerSaveCodec saveCodec = new PlatformerSaveCodec();
+        DataFile savedData = saveCodec.decode(saveCodec.encode(PlatformerSaveFixture.createSave(2, 40, 13, 2, 1)));
+
+        PropertyMap worldProperties = new PropertyMap();
+        worldProperties.setValue("level", 0);
+        worldProperties.setValue("coinsCollected", 0);
+        worldProperties.setValue("coinsAvailable", 0);
+        worldProperties.setValue("perkTree", new PerkTree());
+
+        Entity player = new Entity();
+        player.addComponent(new EntityHPComponent(10));
+        player.addComponent(new DynamicComponent(200, 600));
+
+        new LevelSaveLoadHandler(() -> worldProperties, () -> player).onLoad(savedData);
+
+        assertEquals(2, worldProperties.getInt("level"));
+        assertEquals(40, worldProperties.getInt("coinsCollected"));
+        assertEquals(13, worldProperties.getInt("coinsAvailable"));
+
+        PerkTree perkTree = worldProperties.getObject("perkTree");
+        assertEquals(2, perkTree.getPerksHistory().get(HPChangingPerk.class));
+        assertEquals(1, perkTree.getPerksHistory().get(SpeedChangingPerk.class));
+
+        assertEquals(30, player.getComponent(EntityHPComponent.class).getMaxValue());
+        assertEquals(7, player.getComponent(EntityHPComponent.class).getValue());
+        assertEquals(225, player.getComponent(DynamicComponent.class).getHorizontalVelocity());
+    }
+}
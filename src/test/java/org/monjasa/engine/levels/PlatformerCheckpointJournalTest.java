@@ -0,0 +1,120 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.core.collection.PropertyMap;
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import com.almasb.fxgl.entity.components.CollidableComponent;
+import com.almasb.fxgl.entity.level.Level;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.monjasa.engine.entities.PlatformerEntityType;
+import org.monjasa.engine.entities.enemies.EnemyPatrolSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatformerCheckpointJournalTest {
+
+    private final GameWorld gameWorld = new GameWorld();
+    private final EnemyPatrolSystem patrolSystem = EnemyPatrolSystem.getPatrolSystemInstance();
+
+    private Entity coin;
+    private Entity enemy;
+    private PlatformerLevel level;
+
+    @BeforeEach
+    void setUp() {
+
+        PropertyMap worldProperties = new PropertyMap();
+        worldProperties.setValue("coinsCollected", 0);
+        worldProperties.setValue("coinsAvailable", 0);
+
+        coin = spawn(PlatformerEntityType.COIN, 100, 100);
+        enemy = spawn(PlatformerEntityType.ENEMY, 300, 100);
+
+        level = new PlatformerLevel(new Level(1000, 1000, List.of(coin, enemy)), worldProperties);
+
+        patrolSystem.clear();
+        patrolSystem.register(enemy, 40, 2);
+        for (int step = 0; step < 45; step++) patrolSystem.step(1.0 / 60.0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        patrolSystem.clear();
+    }
+
+    @Test
+    void revertRestoresCollectedCoinsAndKilledEnemiesInReverseOrder() {
+
+        double[] positionX = new double[2];
+        double[] elapsedTime = new double[2];
+        boolean[] movingRight = new boolean[2];
+        assertTrue(patrolSystem.captureState(enemy, positionX, elapsedTime, movingRight, 0));
+
+        PlatformerCheckpointJournal checkpointJournal = level.getCheckpointJournal();
+        List<Boolean> restoredWhenReverted = new ArrayList<>();
+
+        checkpointJournal.record(() -> restoredWhenReverted.add(coin.isVisible() && enemy.isVisible()));
+        level.collectCoin(coin);
+        level.killEnemy(enemy);
+        checkpointJournal.record(() -> restoredWhenReverted.add(coin.isVisible() || enemy.isVisible()));
+
+        assertFalse(coin.isVisible());
+        assertFalse(coin.hasComponent(CollidableComponent.class));
+        assertFalse(enemy.isVisible());
+        assertFalse(enemy.hasComponent(CollidableComponent.class));
+        assertFalse(level.getSpatialGrid().getEntities(PlatformerEntityType.ENEMY).contains(enemy));
+        assertFalse(patrolSystem.captureState(enemy, positionX, elapsedTime, movingRight, 1));
+        assertEquals(4, checkpointJournal.getDeltaCount());
+
+        checkpointJournal.revert();
+
+        assertEquals(List.of(false, true), restoredWhenReverted);
+        assertEquals(0, checkpointJournal.getDeltaCount());
+
+        assertTrue(coin.isVisible());
+        assertTrue(coin.hasComponent(CollidableComponent.class));
+        assertTrue(enemy.isVisible());
+        assertTrue(enemy.hasComponent(CollidableComponent.class));
+        assertEquals(List.of(enemy), level.getSpatialGrid().getEntitiesInRect(290, 90, 310, 110));
+
+        assertTrue(patrolSystem.captureState(enemy, positionX, elapsedTime, movingRight, 1));
+        assertEquals(positionX[0], positionX[1]);
+        assertEquals(elapsedTime[0], elapsedTime[1]);
+        assertEquals(movingRight[0], movingRight[1]);
+    }
+
+    @Test
+    void commitKeepsEarlierDeltas() {
+
+        level.collectCoin(coin);
+        level.getCheckpointJournal().commit();
+        level.killEnemy(enemy);
+
+        level.getCheckpointJournal().revert();
+
+        assertFalse(coin.isVisible());
+        assertFalse(coin.hasComponent(CollidableComponent.class));
+        assertTrue(enemy.isVisible());
+        assertTrue(enemy.hasComponent(CollidableComponent.class));
+    }
+
+    private Entity spawn(PlatformerEntityType type, double x, double y) {
+
+        Entity entity = new Entity();
+        entity.setType(type);
+        entity.setPosition(x, y);
+        entity.getBoundingBoxComponent().addHitBox(new HitBox(BoundingShape.box(20, 20)));
+        entity.addComponent(new CollidableComponent(true));
+
+        gameWorld.addEntity(entity);
+
+        return entity;
+    }
+}
@@ -0,0 +1,97 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.profile.DataFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatformerSaveCodecTest {
+
+    private final PlatformerSaveCodec saveCodec = new PlatformerSaveCodec();
+
+    @Test
+    void decodesWhatItEncodes() throws IOException {
+
+        DataFile saveData = PlatformerSaveFixture.createSave(3, 42, 17, 2, 1);
+
+        assertSameSave(saveData, saveCodec.decode(saveCodec.encode(saveData)));
+    }
+
+    @Test
+    void rejectsMementoKeysWithoutCodecField() {
+
+        DataFile saveData = PlatformerSaveFixture.createSave(3, 42, 17);
+        saveData.getBundle("Memento").put("checkpoint", 4);
+
+        assertThrows(IOException.class, () -> saveCodec.encode(saveData));
+    }
+
+    @Test
+    void skipsUnknownFields() throws IOException {
+
+        DataFile saveData = PlatformerSaveFixture.createSave(1, 5, 5, 1);
+
+        ByteArrayOutputStream encodedData = new ByteArrayOutputStream();
+        encodedData.write(saveCodec.encode(saveData));
+        encodedData.write(new byte[] {15 << 3, 0x7F});
+        encodedData.write(new byte[] {12 << 3 | 2, 3, 'a', 'b', 'c'});
+
+        assertSameSave(saveData, saveCodec.decode(encodedData.toByteArray()));
+    }
+
+    @Test
+    void ignoresPerkSubFieldsFromNewerVersions() throws IOException {
+
+        DataFile saveData = PlatformerSaveFixture.createSave(2, 9, 4);
+        byte[] perkName = "HPChangingPerk".getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream encodedData = new ByteArrayOutputStream();
+        encodedData.write(saveCodec.encode(saveData));
+        encodedData.write(8 << 3 | 2);
+        encodedData.write(1 + perkName.length + 1 + 3);
+        encodedData.write(perkName.length);
+        encodedData.write(perkName);
+        encodedData.write(2);
+        encodedData.write(new byte[] {2 << 3, 0x01, 0x00});
+        encodedData.write(new byte[] {7 << 3 | 1, 0, 0, 0, 0, 0, 0, 0, 0});
+
+        DataFile decodedData = saveCodec.decode(encodedData.toByteArray());
+
+        assertEquals(2, decodedData.getBundle("Perks").<Integer>get("HPChangingPerk"));
+        assertEquals(0.0, decodedData.getBundle("Memento").<Double>get("position.y"));
+    }
+
+    @Test
+    void rejectsTruncatedPerkEntry() throws IOException {
+
+        byte[] encodedData = saveCodec.encode(PlatformerSaveFixture.createSave(2, 9, 4, 3));
+
+        assertThrows(IOException.class, () -> saveCodec.decode(Arrays.copyOf(encodedData, encodedData.length - 2)));
+    }
+
+    @Test
+    void decodesLegacyJavaSerializedSave() throws IOException {
+
+        DataFile saveData = PlatformerSaveFixture.createSave(4, 30, 12, 1, 3);
+
+        assertSameSave(saveData, saveCodec.decode(PlatformerSaveFixture.serialize(saveData)));
+    }
+
+    @Test
+    void encodesSmallerThanJavaSerialization() throws IOException {
+
+        DataFile saveData = PlatformerSaveFixture.createSave(4, 30, 12, 1, 3);
+
+        assertTrue(saveCodec.encode(saveData).length * 4 < PlatformerSaveFixture.serialize(saveData).length);
+    }
+
+    private static void assertSameSave(DataFile expected, DataFile actual) {
+        for (String bundleName : new String[] {"Level", "Memento", "Perks"})
+            assertEquals(expected.getBundle(bundleName).getData(), actual.getBundle(bundleName).getData(), bundleName);
+    }
+}
@@ -0,0 +1,54 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.core.serialization.Bundle;
+import com.almasb.fxgl.profile.DataFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+
+class PlatformerSaveFixture {
+
+    static final String[] PERK_NAMES = {"HPChangingPerk", "SpeedChangingPerk"};
+
+    private PlatformerSaveFixture() {
+    }
+
+    static DataFile createSave(int level, int coinsCollected, int coinsAvailable, int... perkPurchases) {
+
+        Bundle levelBundle = new Bundle("Level");
+        levelBundle.put("level", level);
+
+        Bundle mementoBundle = new Bundle("Memento");
+        mementoBundle.put("coinsCollected", coinsCollected);
+        mementoBundle.put("coinsAvailable", coinsAvailable);
+        mementoBundle.put("EntityHPComponent.value", 7);
+        mementoBundle.put("EntityHPComponent.maxValue", 10);
+        mementoBundle.put("position.x", 1234.5);
+        mementoBundle.put("position.y", -67.25);
+
+        Bundle perksBundle = new Bundle("Perks");
+        for (int i = 0; i < perkPurchases.length; i++) perksBundle.put(PERK_NAMES[i], perkPurchases[i]);
+
+        DataFile dataFile = new DataFile();
+        dataFile.putBundle(levelBundle);
+        dataFile.putBundle(mementoBundle);
+        dataFile.putBundle(perksBundle);
+
+        return dataFile;
+    }
+
+    static byte[] serialize(DataFile dataFile) {
+
+        ByteArrayOutputStream serializedData = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream outputStream = new ObjectOutputStream(serializedData)) {
+            outputStream.writeObject(dataFile);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return serializedData.toByteArray();
+    }
+}
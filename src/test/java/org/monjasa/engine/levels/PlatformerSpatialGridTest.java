@@ -0,0 +1,95 @@
+package org.monjasa.engine.levels;
+
+import com.almasb.fxgl.entity.Entity;
+import com.almasb.fxgl.entity.GameWorld;
+import com.almasb.fxgl.physics.BoundingShape;
+import com.almasb.fxgl.physics.HitBox;
+import javafx.geometry.Point2D;
+import org.junit.jupiter.api.Test;
+import org.monjasa.engine.entities.PlatformerEntityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatformerSpatialGridTest {
+
+    private static final double CELL_SIZE = 100;
+    private static final double LEVEL_SIZE = 1000;
+
+    private final GameWorld gameWorld = new GameWorld();
+    private final PlatformerSpatialGrid spatialGrid = new PlatformerSpatialGrid(CELL_SIZE, LEVEL_SIZE, LEVEL_SIZE);
+
+    @Test
+    void reportsEntitySpanningSeveralCellsOnce() {
+
+        Entity platform = spawn(PlatformerEntityType.PLATFORM, 50, 50, 400, 300);
+
+        assertEquals(List.of(platform), spatialGrid.getEntitiesInRect(0, 0, 1000, 1000));
+        assertEquals(List.of(platform), spatialGrid.getEntitiesInRect(250, 250, 260, 260));
+    }
+
+    @Test
+    void fillsCallerListWithoutDuplicates() {
+
+        Entity platform = spawn(PlatformerEntityType.PLATFORM, 0, 0, 500, 50);
+        Entity coin = spawn(PlatformerEntityType.COIN, 320, 10, 20, 20);
+        spawn(PlatformerEntityType.COIN, 900, 900, 20, 20);
+
+        List<Entity> result = new ArrayList<>();
+        spatialGrid.getEntitiesInRect(150, 0, 450, 100, result);
+
+        assertEquals(2, result.size());
+        assertTrue(result.contains(platform));
+        assertTrue(result.contains(coin));
+    }
+
+    @Test
+    void updateAllMovesEntitiesAndDropsInactiveOnes() {
+
+        Entity movingEnemy = spawn(PlatformerEntityType.ENEMY, 0, 0, 40, 40);
+        Entity removedEnemy = spawn(PlatformerEntityType.ENEMY, 10, 10, 40, 40);
+        Entity idleEnemy = spawn(PlatformerEntityType.ENEMY, 20, 20, 40, 40);
+
+        movingEnemy.setPosition(720, 720);
+        gameWorld.removeEntity(removedEnemy);
+
+        spatialGrid.updateAll(PlatformerEntityType.ENEMY);
+
+        assertEquals(List.of(idleEnemy), spatialGrid.getEntitiesInRect(0, 0, 100, 100));
+        assertEquals(List.of(movingEnemy), spatialGrid.getEntitiesInRect(700, 700, 800, 800));
+        assertEquals(2, spatialGrid.getEntities(PlatformerEntityType.ENEMY).size());
+        assertEquals(2, spatialGrid.size());
+    }
+
+    @Test
+    void keepsEntitiesOutsideLevelBoundsInBorderCells() {
+
+        Entity fallingPlayer = spawn(PlatformerEntityType.PLAYER, 480, 1600, 40, 40);
+        Entity checkpoint = spawn(PlatformerEntityType.CHECKPOINT, -300, 500, 40, 40);
+
+        assertEquals(List.of(fallingPlayer), spatialGrid.getEntitiesInRect(400, 1500, 600, 1700));
+        assertTrue(spatialGrid.getEntitiesInRect(400, 900, 600, 1000).isEmpty());
+        assertEquals(Optional.of(checkpoint), spatialGrid.findNearest(PlatformerEntityType.CHECKPOINT, new Point2D(2000, 2000)));
+
+        spatialGrid.remove(fallingPlayer);
+
+        assertTrue(spatialGrid.getEntitiesInRect(400, 1500, 600, 1700).isEmpty());
+        assertEquals(Optional.empty(), spatialGrid.getFirstEntity(PlatformerEntityType.PLAYER));
+    }
+
+    private Entity spawn(PlatformerEntityType type, double x, double y, double width, double height) {
+
+        Entity entity = new Entity();
+        entity.setType(type);
+        entity.setPosition(x, y);
+        entity.getBoundingBoxComponent().addHitBox(new HitBox(BoundingShape.box(width, height)));
+
+        gameWorld.addEntity(entity);
+        spatialGrid.insert(entity);
+
+        return entity;
+    }
+}
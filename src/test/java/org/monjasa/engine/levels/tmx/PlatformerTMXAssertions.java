@@ -0,0 +1,99 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatformerTMXAssertions {
+
+    private PlatformerTMXAssertions() {
+    }
+
+    static void assertSameMap(TiledMap expected, TiledMap actual) {
+
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getTilewidth(), actual.getTilewidth());
+        assertEquals(expected.getTileheight(), actual.getTileheight());
+        assertEquals(expected.getNextobjectid(), actual.getNextobjectid());
+        assertEquals(expected.getInfinite(), actual.getInfinite());
+        assertEquals(expected.getBackgroundcolor(), actual.getBackgroundcolor());
+        assertEquals(expected.getOrientation(), actual.getOrientation());
+        assertEquals(expected.getRenderorder(), actual.getRenderorder());
+        assertEquals(expected.getTiledversion(), actual.getTiledversion());
+        assertEquals(expected.getProperties(), actual.getProperties());
+        assertEquals(expected.getPropertytypes(), actual.getPropertytypes());
+
+        assertEquals(expected.getTilesets().size(), actual.getTilesets().size());
+        for (int i = 0; i < expected.getTilesets().size(); i++)
+            assertSameTileset(expected.getTilesets().get(i), actual.getTilesets().get(i));
+
+        assertEquals(expected.getLayers().size(), actual.getLayers().size());
+        for (int i = 0; i < expected.getLayers().size(); i++)
+            assertSameLayer(expected.getLayers().get(i), actual.getLayers().get(i));
+    }
+
+    private static void assertSameTileset(Tileset expected, Tileset actual) {
+
+        assertEquals(expected.getFirstgid(), actual.getFirstgid());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getTilewidth(), actual.getTilewidth());
+        assertEquals(expected.getTileheight(), actual.getTileheight());
+        assertEquals(expected.getSpacing(), actual.getSpacing());
+        assertEquals(expected.getTilecount(), actual.getTilecount());
+        assertEquals(expected.getColumns(), actual.getColumns());
+        assertEquals(expected.getImage(), actual.getImage());
+        assertEquals(expected.getImagewidth(), actual.getImagewidth());
+        assertEquals(expected.getImageheight(), actual.getImageheight());
+        assertEquals(expected.getTransparentcolor(), actual.getTransparentcolor());
+
+        List<Tile> expectedTiles = expected.getTiles();
+        List<Tile> actualTiles = actual.getTiles();
+
+        assertEquals(expectedTiles.size(), actualTiles.size());
+        for (int i = 0; i < expectedTiles.size(); i++) {
+            assertEquals(expectedTiles.get(i).getId(), actualTiles.get(i).getId());
+            assertEquals(expectedTiles.get(i).getImage(), actualTiles.get(i).getImage());
+            assertEquals(expectedTiles.get(i).getImagewidth(), actualTiles.get(i).getImagewidth());
+            assertEquals(expectedTiles.get(i).getImageheight(), actualTiles.get(i).getImageheight());
+            assertEquals(expectedTiles.get(i).getTransparentcolor(), actualTiles.get(i).getTransparentcolor());
+        }
+    }
+
+    private static void assertSameLayer(Layer expected, Layer actual) {
+
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getOpacity(), actual.getOpacity());
+        assertEquals(expected.getVisible(), actual.getVisible());
+        assertEquals(expected.getData(), actual.getData());
+
+        List<TiledObject> expectedObjects = expected.getObjects();
+        List<TiledObject> actualObjects = actual.getObjects();
+
+        assertEquals(expectedObjects.size(), actualObjects.size());
+        for (int i = 0; i < expectedObjects.size(); i++) {
+
+            TiledObject expectedObject = expectedObjects.get(i);
+            TiledObject actualObject = actualObjects.get(i);
+
+            assertEquals(expectedObject.getId(), actualObject.getId());
+            assertEquals(expectedObject.getName(), actualObject.getName());
+            assertEquals(expectedObject.getType(), actualObject.getType());
+            assertEquals(expectedObject.getX(), actualObject.getX());
+            assertEquals(expectedObject.getY(), actualObject.getY());
+            assertEquals(expectedObject.getWidth(), actualObject.getWidth());
+            assertEquals(expectedObject.getHeight(), actualObject.getHeight());
+            assertEquals(expectedObject.getRotation(), actualObject.getRotation());
+            assertEquals(expectedObject.getGid(), actualObject.getGid());
+            assertEquals(expectedObject.getProperties(), actualObject.getProperties());
+            assertEquals(expectedObject.getPropertytypes(), actualObject.getPropertytypes());
+        }
+    }
+}
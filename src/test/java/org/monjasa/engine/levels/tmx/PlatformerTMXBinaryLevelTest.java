@@ -0,0 +1,108 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.monjasa.engine.levels.tmx.PlatformerTMXAssertions.assertSameMap;
+
+class PlatformerTMXBinaryLevelTest {
+
+    @TempDir
+    Path levelsDirectory;
+
+    @Test
+    void compilesBundledLevelsLikeXmlParser() throws Exception {
+
+        for (String levelName : PlatformerTMXCorpus.LEVEL_NAMES) {
+
+            String resource = "assets/levels/tmx/" + levelName + ".tmx";
+
+            try (InputStream levelInput = getClass().getClassLoader().getResourceAsStream(resource)) {
+                assertNotNull(levelInput, resource);
+                assertCompilesLikeXmlParser(levelName, levelInput.readAllBytes());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 100, 5000})
+    void compilesGeneratedMapsLikeXmlParser(int objectCount) throws Exception {
+        assertCompilesLikeXmlParser("generated",
+                PlatformerTMXCorpus.generateMap(120, 40, "base64", "zlib", objectCount));
+    }
+
+    @Test
+    void compilesUniformTileRunsLikeXmlParser() throws Exception {
+
+        int[] tiles = new int[200 * 30];
+        Arrays.fill(tiles, 0, 3000, 0);
+        Arrays.fill(tiles, 3000, 5999, 7);
+        tiles[5999] = 7 | 0x80000000;
+
+        assertCompilesLikeXmlParser("uniform", PlatformerTMXCorpus.generateMap(200, 30, tiles, "csv", "", 10));
+    }
+
+    @Test
+    void prefersCompiledLevelOnlyWhileSourceIsUnchanged() throws Exception {
+
+        Path levelFile = levelsDirectory.resolve("stale.tmx");
+        Files.write(levelFile, PlatformerTMXCorpus.generateMap(40, 20, "csv", "", 10));
+        Path compiledFile = new PlatformerTMXLevelCompiler().compileLevel(levelFile);
+
+        assertEquals(compiledFile.toUri().toURL(),
+                PlatformerTMXLoaderFacade.findCompiledLevel(levelFile.toUri().toURL()));
+
+        Files.write(levelFile, PlatformerTMXCorpus.generateMap(40, 20, "csv", "", 11));
+
+        assertEquals(levelFile.toUri().toURL(),
+                PlatformerTMXLoaderFacade.findCompiledLevel(levelFile.toUri().toURL()));
+    }
+
+    @Test
+    void rejectsTruncatedAndCorruptLevels() throws Exception {
+
+        Path levelFile = levelsDirectory.resolve("corrupt.tmx");
+        Files.write(levelFile, PlatformerTMXCorpus.generateMap(40, 20, "csv", "", 10));
+        Path compiledFile = new PlatformerTMXLevelCompiler().compileLevel(levelFile);
+        byte[] compiledLevel = Files.readAllBytes(compiledFile);
+
+        Files.write(compiledFile, Arrays.copyOf(compiledLevel, compiledLevel.length / 2));
+        assertThrows(IOException.class, () -> new PlatformerTMXBinaryReader().read(compiledFile.toUri().toURL()));
+
+        // the map's width and height are followed by tile size, next object id and the infinite flag,
+        // so the first string length (background color) starts right after them
+        int headerSize = Integer.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES;
+        int backgroundColorOffset = headerSize + 5 * Integer.BYTES + 1;
+
+        ByteBuffer.wrap(compiledLevel).putInt(backgroundColorOffset, Integer.MAX_VALUE);
+        Files.write(compiledFile, compiledLevel);
+        assertThrows(IOException.class, () -> new PlatformerTMXBinaryReader().read(compiledFile.toUri().toURL()));
+
+        ByteBuffer.wrap(compiledLevel).putInt(backgroundColorOffset, -2);
+        Files.write(compiledFile, compiledLevel);
+        assertThrows(IOException.class, () -> new PlatformerTMXBinaryReader().read(compiledFile.toUri().toURL()));
+    }
+
+    private void assertCompilesLikeXmlParser(String levelName, byte[] levelSource) throws Exception {
+
+        Path levelFile = levelsDirectory.resolve(levelName + ".tmx");
+        Files.write(levelFile, levelSource);
+
+        Path compiledFile = new PlatformerTMXLevelCompiler().compileLevel(levelFile);
+        TiledMap compiledMap = new PlatformerTMXBinaryReader().read(compiledFile.toUri().toURL());
+
+        assertSameMap(new PlatformerTMXLevelParser().parse(new ByteArrayInputStream(levelSource)), compiledMap);
+    }
+}
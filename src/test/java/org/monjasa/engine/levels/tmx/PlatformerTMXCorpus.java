@@ -0,0 +1,154 @@
+package org.monjasa.engine.levels.tmx;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+class PlatformerTMXCorpus {
+
+    static final String[] LEVEL_NAMES = {"forest_00", "forest_01", "forest_02", "forest_03", "forest_04", "level_dev"};
+
+    static final int TILE_SIZE = 45;
+    static final int TILESET_TILE_COUNT = 40;
+
+    private static final String[] OBJECT_TYPES = {"platform", "coin", "enemy", "checkpoint"};
+
+    private PlatformerTMXCorpus() {
+    }
+
+    static int[] generateTiles(int width, int height, long seed) {
+
+        Random random = new Random(seed);
+        int[] tiles = new int[width * height];
+
+        for (int i = 0; i < tiles.length; i++) {
+            int tile = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(TILESET_TILE_COUNT);
+            if (random.nextInt(64) == 0) tile |= 0x80000000;
+            tiles[i] = tile;
+        }
+
+        return tiles;
+    }
+
+    static String encodeCsv(int[] tiles, int width) {
+
+        StringBuilder data = new StringBuilder(tiles.length * 4);
+        data.append('\n');
+
+        for (int i = 0; i < tiles.length; i++) {
+            data.append(Integer.toUnsignedString(tiles[i]));
+            if (i != tiles.length - 1) data.append(',');
+            if ((i + 1) % width == 0) data.append('\n');
+        }
+
+        return data.toString();
+    }
+
+    static String encodeBase64(int[] tiles, String compression) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(tiles.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        for (int tile : tiles) buffer.putInt(tile);
+
+        ByteArrayOutputStream compressedData = new ByteArrayOutputStream();
+
+        try (OutputStream outputStream = compress(compressedData, compression)) {
+            outputStream.write(buffer.array());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return "\n   " + Base64.getEncoder().encodeToString(compressedData.toByteArray()) + "\n  ";
+    }
+
+    private static OutputStream compress(OutputStream outputStream, String compression) throws IOException {
+        switch (compression) {
+            case "":
+                return outputStream;
+            case "zlib":
+                return new DeflaterOutputStream(outputStream);
+            case "gzip":
+                return new GZIPOutputStream(outputStream);
+            default:
+                throw new IllegalArgumentException("Unsupported corpus compression: " + compression);
+        }
+    }
+
+    static byte[] generateMap(int width, int height, String encoding, String compression, int objectCount) {
+        return generateMap(width, height, generateTiles(width, height, width * 31L + height),
+                encoding, compression, objectCount);
+    }
+
+    static byte[] generateMap(int width, int height, int[] tiles, String encoding, String compression, int objectCount) {
+
+        Random random = new Random(objectCount);
+
+        StringBuilder map = new StringBuilder();
+
+        map.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<map version=\"1.2\" tiledversion=\"1.2.3\" orientation=\"orthogonal\" renderorder=\"right-down\"")
+                .append(" width=\"").append(width).append("\" height=\"").append(height).append('"')
+                .append(" tilewidth=\"").append(TILE_SIZE).append("\" tileheight=\"").append(TILE_SIZE).append('"')
+                .append(" infinite=\"0\" nextlayerid=\"3\" nextobjectid=\"").append(objectCount + 1).append("\">\n")
+                .append(" <properties>\n")
+                .append("  <property name=\"corpus\" type=\"bool\" value=\"true\"/>\n")
+                .append(" </properties>\n")
+                .append(" <tileset firstgid=\"1\" name=\"level_spritesheet\" tilewidth=\"45\" tileheight=\"45\"")
+                .append(" tilecount=\"").append(TILESET_TILE_COUNT).append("\" columns=\"10\">\n")
+                .append("  <image source=\"level_spritesheet.png\" width=\"450\" height=\"180\"/>\n")
+                .append(" </tileset>\n")
+                .append(" <layer id=\"1\" name=\"Tile Layer 1\" width=\"").append(width)
+                .append("\" height=\"").append(height).append("\">\n")
+                .append("  <data encoding=\"").append(encoding).append('"');
+
+        if (!compression.isEmpty()) map.append(" compression=\"").append(compression).append('"');
+
+        map.append('>')
+                .append(encoding.equals("csv") ? encodeCsv(tiles, width) : encodeBase64(tiles, compression))
+                .append("</data>\n")
+                .append(" </layer>\n")
+                .append(" <objectgroup id=\"2\" name=\"Object Layer 1\">\n");
+
+        for (int id = 1; id <= objectCount; id++) {
+
+            String type = id == 1 ? "player" : OBJECT_TYPES[random.nextInt(OBJECT_TYPES.length)];
+            int x = random.nextInt(width * TILE_SIZE);
+            int y = random.nextInt(height * TILE_SIZE);
+
+            map.append("  <object id=\"").append(id).append("\" type=\"").append(type).append('"')
+                    .append(" x=\"").append(x).append("\" y=\"").append(y).append('"')
+                    .append(" width=\"45\" height=\"45\"");
+
+            if (type.equals("enemy")) {
+                map.append(">\n")
+                        .append("   <properties>\n")
+                        .append("    <property name=\"patrolEndX\" type=\"int\" value=\"").append(x + 300).append("\"/>\n")
+                        .append("   </properties>\n")
+                        .append("  </object>\n");
+            } else if (type.equals("checkpoint")) {
+                map.append(">\n")
+                        .append("   <properties>\n")
+                        .append("    <property name=\"active\" type=\"bool\" value=\"").append(random.nextBoolean()).append("\"/>\n")
+                        .append("    <property name=\"delay\" type=\"float\" value=\"").append(random.nextInt(100) / 4f).append("\"/>\n")
+                        .append("    <property name=\"label\" type=\"string\" value=\"checkpoint ").append(id).append("\"/>\n")
+                        .append("    <property name=\"tint\" type=\"color\" value=\"#ff").append(String.format("%06x", random.nextInt(0x1000000))).append("\"/>\n")
+                        .append("   </properties>\n")
+                        .append("  </object>\n");
+            } else {
+                map.append("/>\n");
+            }
+        }
+
+        map.append(" </objectgroup>\n")
+                .append("</map>\n");
+
+        return map.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
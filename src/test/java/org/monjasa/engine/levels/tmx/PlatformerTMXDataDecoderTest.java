@@ -0,0 +1,79 @@
+package org.monjasa.engine.levels.tmx;
+
+import com.almasb.fxgl.entity.level.tiled.TiledMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatformerTMXDataDecoderTest {
+
+    private static final int WIDTH = 64;
+    private static final int HEIGHT = 32;
+
+    private final int[] tiles = PlatformerTMXCorpus.generateTiles(WIDTH, HEIGHT, 42);
+
+    @Test
+    void decodesCsv() throws IOException {
+        assertArrayEquals(tiles, PlatformerTMXDataDecoder.decodeCsv(
+                PlatformerTMXCorpus.encodeCsv(tiles, WIDTH), tiles.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1,2,3,", "1,2,,3", ",1,2,3", "1,2 3", "1,2,x", "1,2,4294967296"})
+    void rejectsMalformedCsv(String data) {
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeCsv(data, 3));
+    }
+
+    @Test
+    void rejectsCsvWithWrongTileCount() {
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeCsv("1,2,3", 4));
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeCsv("1,2,3", 2));
+    }
+
+    @Test
+    void acceptsCsvWhitespaceAroundTiles() throws IOException {
+        assertArrayEquals(new int[]{1, 2, 3, -1}, PlatformerTMXDataDecoder.decodeCsv("\n 1 ,2,\n3,\t4294967295 \n", 4));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "zlib", "gzip"})
+    void decodesBase64(String compression) throws IOException {
+        assertArrayEquals(tiles, PlatformerTMXDataDecoder.decodeBase64(
+                PlatformerTMXCorpus.encodeBase64(tiles, compression), compression, tiles.length));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "zlib", "gzip"})
+    void rejectsBase64WithWrongTileCount(String compression) {
+
+        String data = PlatformerTMXCorpus.encodeBase64(tiles, compression);
+
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeBase64(data, compression, tiles.length + 1));
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeBase64(data, compression, tiles.length - 1));
+    }
+
+    @Test
+    void rejectsUnsupportedCompression() {
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeBase64("AAAA", "zstd", 1));
+        assertThrows(IOException.class, () -> PlatformerTMXDataDecoder.decodeBase64("AAAA", "lz4", 1));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "zlib", "gzip"})
+    void parsesCompressedMapLikeCsvMap(String compression) throws Exception {
+
+        TiledMap csvMap = parse(PlatformerTMXCorpus.generateMap(WIDTH, HEIGHT, "csv", "", 16));
+        TiledMap base64Map = parse(PlatformerTMXCorpus.generateMap(WIDTH, HEIGHT, "base64", compression, 16));
+
+        assertEquals(csvMap.getLayers().get(0).getData(), base64Map.getLayers().get(0).getData());
+    }
+
+    private static TiledMap parse(byte[] map) throws Exception {
+        return new PlatformerTMXLevelParser().parse(new ByteArrayInputStream(map));
+    }
+}
@@ -0,0 +1,42 @@
+package org.monjasa.engine.levels.tmx;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.monjasa.engine.levels.tmx.PlatformerTMXAssertions.assertSameMap;
+
+class PlatformerTMXStreamLevelParserTest {
+
+    @Test
+    void parsesBundledLevelsLikeEventParser() throws Exception {
+
+        for (String levelName : PlatformerTMXCorpus.LEVEL_NAMES) {
+
+            String resource = "assets/levels/tmx/" + levelName + ".tmx";
+
+            try (InputStream eventInput = getClass().getClassLoader().getResourceAsStream(resource);
+                 InputStream streamInput = getClass().getClassLoader().getResourceAsStream(resource)) {
+
+                assertNotNull(eventInput, resource);
+
+                assertSameMap(new PlatformerTMXLevelParser().parse(eventInput),
+                        new PlatformerTMXStreamLevelParser().parse(streamInput));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 100, 5000})
+    void parsesGeneratedMapsLikeEventParser(int objectCount) throws Exception {
+
+        byte[] map = PlatformerTMXCorpus.generateMap(120, 40, "csv", "", objectCount);
+
+        assertSameMap(new PlatformerTMXLevelParser().parse(new ByteArrayInputStream(map)),
+                new PlatformerTMXStreamLevelParser().parse(new ByteArrayInputStream(map)));
+    }
+}